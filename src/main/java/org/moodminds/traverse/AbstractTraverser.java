@@ -0,0 +1,109 @@
+package org.moodminds.traverse;
+
+import org.moodminds.function.Executable1Throwing1;
+import org.moodminds.function.Testable1Throwing1;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+
+/**
+ * A template implementation of the {@link Traversable.Traverser} interface that defines
+ * all methods using the individual traversal method {@link #next(Executable1Throwing1)}
+ * with tight loops, not allocating any state holders on the traversal.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public abstract class AbstractTraverser<V, E extends Exception> implements Traversable.Traverser<V, E> {
+
+    /**
+     * The {@link #some(Testable1Throwing1)} item value adapter holder field, created on the first call.
+     */
+    private Executable1Throwing1<V, Exception> test;
+
+    /**
+     * The current {@link #some(Testable1Throwing1)} predicate holder field.
+     */
+    private Testable1Throwing1<? super V, ?> predicate;
+
+    /**
+     * The current {@link #some(Testable1Throwing1)} proceeding flag holder field.
+     */
+    private boolean proceed;
+
+    /**
+     * Construct the object.
+     */
+    protected AbstractTraverser() {}
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param number   {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     * @param <H>      {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws E                    {@inheritDoc}
+     * @throws H                    {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public <H extends Exception> boolean next(long number, Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+        if (number < 0L)
+            throw new IllegalArgumentException(format("Negative demand: %d.", number));
+        requireNonNull(consumer);
+        for (; number > 0L; number--)
+            if (!next(consumer))
+                return false;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param consumer {@inheritDoc}
+     * @param <H>      {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws E                    {@inheritDoc}
+     * @throws H                    {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+        requireNonNull(consumer); if (test == null) test = this::test;
+        Testable1Throwing1<? super V, ?> predicate = this.predicate; boolean proceed = this.proceed;
+        this.predicate = consumer; this.proceed = true; try {
+            while (this.proceed)
+                if (!this.<Exception>next(test))
+                    return false;
+            return true;
+        } catch (Exception ex) { return sneak(ex); }
+        finally { this.predicate = predicate; this.proceed = proceed; }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param consumer {@inheritDoc}
+     * @param <H>      {@inheritDoc}
+     * @throws E                    {@inheritDoc}
+     * @throws H                    {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public <H extends Exception> void each(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+        requireNonNull(consumer);
+        while (next(consumer));
+    }
+
+    /**
+     * Test the given item value with the current {@link #some(Testable1Throwing1)} predicate.
+     *
+     * @param value the given item value
+     * @throws Exception in case of the predicate error
+     */
+    private void test(V value) throws Exception {
+        proceed = predicate.test(value);
+    }
+}
@@ -5,6 +5,9 @@ import org.moodminds.elemental.Association;
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.Executable1.idle;
 import static org.moodminds.traverse.Traversable.each;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * A composite {@link Traversable} that first applies the traverse function to the items from the initial
@@ -41,6 +44,11 @@ public class BeforeTraversable<V, E extends Exception> implements Traversable<V,
         boolean complete = method.traverse(before, traverse, ctx); method.traverse(after, each(idle()), ctx); return complete;
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, before, after);
+    }
+
     /**
      * Return a composite {@link Traversable} that first applies the traverse function to the items from the initial
      * {@link TraverseSupport} source and then performs a complete traversal of the second {@link TraverseSupport} source.
@@ -4,6 +4,9 @@ import org.moodminds.elemental.Association;
 import org.moodminds.valuable.Variable.Boolean;
 
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.traverse.TraversePlan.Kind.SHORT_CIRCUITING;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 import static org.moodminds.valuable.Variable.var;
 
 /**
@@ -37,6 +40,20 @@ abstract class BreachTraversable<V, E extends Exception> implements Traversable<
         }, ctx) || !breached.flg;
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, SHORT_CIRCUITING, CONSTANT, traversable);
+    }
+
+    /**
+     * Return the source {@link TraverseSupport}.
+     *
+     * @return the source {@link TraverseSupport}
+     */
+    TraverseSupport<? extends V, ? extends E> source() {
+        return traversable;
+    }
+
     protected abstract <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, TraverseSupport<? extends V, ? extends E> traversable,
                                                                                      Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2;
 }
@@ -6,7 +6,9 @@ import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.function.Testable1Throwing3;
 import org.moodminds.function.TestableThrowing1;
+import org.moodminds.sneaky.Cast;
 import org.moodminds.sneaky.Sneak;
+import org.moodminds.traverse.context.ContextKey;
 import org.moodminds.valuable.Variable;
 import org.moodminds.valuable.Variable.Boolean;
 import org.moodminds.valuable.Variable.Long;
@@ -15,7 +17,17 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static org.moodminds.function.TestableThrowing1.anyway;
+import static org.moodminds.sneaky.Cast.cast;
 import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.DeferTraversable.defer;
+import static org.moodminds.traverse.PeekTraversable.peek;
+import static org.moodminds.traverse.SkipTraversable.skip;
+import static org.moodminds.traverse.TraverseMethod.SEQUENCE;
+import static org.moodminds.traverse.TraversePlan.Kind.STATEFUL;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
+import static org.moodminds.traverse.context.ContextKey.key;
 import static org.moodminds.valuable.Variable.var;
 
 /**
@@ -27,6 +39,11 @@ import static org.moodminds.valuable.Variable.var;
  */
 public abstract class CatchTraversable<V, C extends Exception, E extends Exception> implements Traversable<V, E> {
 
+    /**
+     * The per-traversal {@link Checkpoint} context key holder field.
+     */
+    private static final ContextKey<Checkpoint> CHECKPOINT = key("checkpoint");
+
     /**
      * The {@link TraverseSupport} source holder field.
      */
@@ -58,29 +75,39 @@ public abstract class CatchTraversable<V, C extends Exception, E extends Excepti
                         try {
                             traverse.exec(new Traverser<V, E>() {
 
+                                final Executable1Throwing1<V, Exception> once = this::once, accept = this::accept;
+                                final Testable1Throwing1<V, Exception> test = this::test;
+
+                                Executable1Throwing1<? super V, ?> consumer; Testable1Throwing1<? super V, ?> predicate; boolean next;
+
                                 @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                                    requireNonNull(consumer); Boolean next = var(false); try {
-                                        return traverser.<H, E>next(value -> {
-                                            next.flg = true; consumer.exec(value); });
-                                    } catch (Throwable ex) { return handle(!next.flg, ex); } }
+                                    requireNonNull(consumer); this.consumer = consumer; next = false; try {
+                                        return traverser.<Exception>next(once);
+                                    } catch (Throwable ex) { return handle(!next, ex); } }
 
                                 @Override public <H extends Exception> boolean next(long number, Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                                    requireNonNull(consumer); Boolean next = var(false); try {
-                                        return traverser.<H, E>next(number, value -> {
-                                            next.flg = true; consumer.exec(value); next.flg = false; });
-                                    } catch (Throwable ex) { return handle(!next.flg, ex); } }
+                                    requireNonNull(consumer); this.consumer = consumer; next = false; try {
+                                        return traverser.<Exception>next(number, accept);
+                                    } catch (Throwable ex) { return handle(!next, ex); } }
 
                                 @Override public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                                    requireNonNull(consumer); Boolean next = var(false); try {
-                                        return traverser.<H, E>some(value -> {
-                                            next.flg = true; boolean some = consumer.test(value); next.flg = false; return some; });
-                                    } catch (Throwable ex) { return handle(!next.flg, ex); } }
+                                    requireNonNull(consumer); this.predicate = consumer; next = false; try {
+                                        return traverser.<Exception>some(test);
+                                    } catch (Throwable ex) { return handle(!next, ex); } }
 
                                 @Override public <H extends Exception> void each(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                                    requireNonNull(consumer); Boolean next = var(false); try {
-                                        traverser.<H, E>each(value -> {
-                                            next.flg = true; consumer.exec(value); next.flg = false; });
-                                    } catch (Throwable ex) { handle(!next.flg, ex); } }
+                                    requireNonNull(consumer); this.consumer = consumer; next = false; try {
+                                        traverser.<Exception>each(accept);
+                                    } catch (Throwable ex) { handle(!next, ex); } }
+
+                                private void once(V value) throws Exception {
+                                    next = true; consumer.exec(value); }
+
+                                private void accept(V value) throws Exception {
+                                    next = true; consumer.exec(value); next = false; }
+
+                                private boolean test(V value) throws Exception {
+                                    next = true; boolean some = predicate.test(value); next = false; return some; }
 
                                 private <H extends Exception> boolean handle(boolean handle, Throwable ex) throws E, H {
                                     if (handle) {
@@ -100,12 +127,18 @@ public abstract class CatchTraversable<V, C extends Exception, E extends Excepti
 
                     }, ctx);
                 } catch (Throwable ex) {
-                    return ex instanceof Error || ex != thrown.val && ignore.flg ? sneak(ex) : catcher.test(ex);
+                    if (ex instanceof Error || ex != thrown.val && ignore.flg) return sneak(ex);
+                    TraverseEvents.caught(ex); return catcher.test(ex);
                 }
             }
         }, method, traverse, ctx);
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
     protected abstract <H1 extends Exception, H2 extends Exception> boolean traverse(Traversal<V, E> traversal, TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2;
 
 
@@ -150,17 +183,80 @@ public abstract class CatchTraversable<V, C extends Exception, E extends Excepti
         @Override
         protected <H1 extends Exception, H2 extends Exception> boolean traverse(Traversal<V, E> traversal, TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
 
-            boolean result; TestableThrowing1<? extends E> retrial = retrial(); Boolean retry = var(false);
+            boolean result; Testable1Throwing1<? super Throwable, ? extends E> retrial = retrier(); Boolean retry = var(false);
+            Long attempt = var(0L);
 
             do {
-                retry.flg = false; result = traversal.handle(caught -> retrial.test() ? (retry.flg = true)
-                        : Sneak.<java.lang.Boolean, E>sneak(caught));
+                retry.flg = false; result = traversal.handle(caught -> {
+                    if (!retrial.test(caught)) return Sneak.<java.lang.Boolean, E>sneak(caught);
+                    TraverseEvents.retry(caught, ++attempt.num); return retry.flg = true; });
             } while (retry.flg);
 
             return result;
         }
 
-        protected abstract TestableThrowing1<? extends E> retrial() throws E;
+        /**
+         * Return the per-traversal retrial condition, testing the caught exception.
+         *
+         * @return the per-traversal retrial condition, testing the caught exception
+         * @throws E in case of the retrial condition creation error
+         */
+        protected Testable1Throwing1<? super Throwable, ? extends E> retrier() throws E {
+            TestableThrowing1<? extends E> retrial = retrial(); return caught -> retrial.test();
+        }
+
+        /**
+         * Return the per-traversal retrial condition.
+         *
+         * @return the per-traversal retrial condition
+         * @throws E in case of the retrial condition creation error
+         */
+        protected TestableThrowing1<? extends E> retrial() throws E {
+            return anyway();
+        }
+    }
+
+
+    /**
+     * The position of a checkpointing traversal: the number of the traversed items and the last of them.
+     */
+    private static final class Checkpoint {
+
+        /**
+         * The number of the traversed items holder field.
+         */
+        private long position;
+
+        /**
+         * The last traversed item value holder field.
+         */
+        private Object value;
+
+        /**
+         * Return the given {@link TraverseSupport} source, continued from this position and recording it further.
+         * The {@link Resumable} source is resumed, the others are traversed omitting the already traversed items.
+         *
+         * @param traversable the given {@link TraverseSupport} source
+         * @param <V> the type of item values
+         * @param <E> the type of traversal exception
+         * @return the given {@link TraverseSupport} source, continued from this position
+         */
+        private <V, E extends Exception> Traversable<V, E> source(TraverseSupport<? extends V, ? extends E> traversable) {
+            TraverseSupport<? extends V, ? extends E> source = traversable;
+            if (position != 0L)
+                source = traversable instanceof Resumable ? Cast.<Resumable<V, E>>cast(traversable).resume(position, cast(value))
+                        : skip(traversable, position);
+            return peek(source, this::record);
+        }
+
+        /**
+         * Record the given traversed item value.
+         *
+         * @param value the given traversed item value
+         */
+        private void record(Object value) {
+            position++; this.value = value;
+        }
     }
 
 
@@ -222,4 +318,96 @@ public abstract class CatchTraversable<V, C extends Exception, E extends Excepti
                 Long tries = var(0L); return () -> ++tries.num <= retries; }
         };
     }
+
+    /**
+     * Return a {@link Traversable} implementation that catches traversal exceptions in the
+     * given {@link TraverseSupport} source and retries according to the given {@link RetryPolicy}.
+     * <p>
+     * The backoff delays park the traversing thread, so in the {@link TraverseMethod#PARALLEL} traversal
+     * they block the {@link java.util.concurrent.ForkJoinPool} worker running the retried traversal.
+     *
+     * @param traversable the given {@link TraverseSupport} source
+     * @param policy the given {@link RetryPolicy}
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} implementation that catches traversal exceptions in the
+     * given {@link TraverseSupport} source and retries according to the given {@link RetryPolicy}
+     * @throws NullPointerException if the given {@link TraverseSupport} source or {@link RetryPolicy} is {@code null}
+     */
+    public static <V, E extends Exception> Traversable<V, E> retry(TraverseSupport<? extends V, ? extends E> traversable, RetryPolicy policy) {
+        requireNonNull(policy); return new RetryTraversable<V, E>(traversable) {
+            @Override protected Testable1Throwing1<? super Throwable, ? extends E> retrier() {
+                Long tries = var(0L); return caught -> policy.retry(caught, ++tries.num); }
+        };
+    }
+
+    /**
+     * Return a {@link Traversable} implementation that catches traversal exceptions in the given {@link TraverseSupport}
+     * source and retries according to the given {@link RetryPolicy}, continuing from the checkpoint of the last
+     * successfully traversed item instead of starting over, so the already traversed items are not repeated.
+     * <p>
+     * A {@link Resumable} source is resumed right from the checkpoint, any other source is re-traversed
+     * omitting the already traversed items. The source is always traversed sequentially, as the checkpoint
+     * position is meaningful for the ordered sequential traversal only.
+     *
+     * @param traversable the given {@link TraverseSupport} source
+     * @param policy the given {@link RetryPolicy}
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} implementation that catches traversal exceptions in the given
+     * {@link TraverseSupport} source and retries from the checkpoint according to the given {@link RetryPolicy}
+     * @throws NullPointerException if the given {@link TraverseSupport} source or {@link RetryPolicy} is {@code null}
+     */
+    public static <V, E extends Exception> Traversable<V, E> checkpoint(TraverseSupport<? extends V, ? extends E> traversable, RetryPolicy policy) {
+        requireNonNull(traversable); requireNonNull(policy);
+        return new RetryTraversable<V, E>(defer(ctx -> CHECKPOINT.get(ctx).<V, E>source(traversable))) {
+            @Override public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+                return super.traverse(SEQUENCE, traverse, Traversable.put(ctx, CHECKPOINT, new Checkpoint())); }
+            @Override protected Testable1Throwing1<? super Throwable, ? extends E> retrier() {
+                Long tries = var(0L); return caught -> policy.retry(caught, ++tries.num); }
+            @Override public TraversePlan describe() {
+                return plan(this, STATEFUL, CONSTANT, traversable); }
+        };
+    }
+
+    /**
+     * Return a {@link Traversable} implementation that traverses the given {@link TraverseSupport} source through
+     * a circuit breaker of the given {@link CircuitPolicy}, falling back to the given {@link TraverseSupport}.
+     * <p>
+     * The source failures of the returned {@link Traversable} traversals are counted across the traversals, and
+     * once the failure rate of the policy is reached the circuit opens: the following traversals go straight
+     * to the fallback without touching the source, until a half-open probing traversal succeeds.
+     * A failed traversal continues with the fallback as well. Only the caught source exceptions are recorded
+     * as failures, and a traversal is recorded as a success only on its normal completion: any other
+     * {@link Throwable} escaping it, e.g. thrown by the consumer, is rethrown with no outcome recorded,
+     * giving the half-open probe back to the open circuit.
+     *
+     * @param traversable the given {@link TraverseSupport} source
+     * @param policy the given {@link CircuitPolicy}
+     * @param fallback the given fallback {@link TraverseSupport}
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} implementation that traverses the given {@link TraverseSupport} source
+     * through a circuit breaker of the given {@link CircuitPolicy}, falling back to the given {@link TraverseSupport}
+     * @throws NullPointerException if the given {@link TraverseSupport} source, {@link CircuitPolicy}
+     * or fallback {@link TraverseSupport} is {@code null}
+     */
+    public static <V, E extends Exception> Traversable<V, E> circuit(TraverseSupport<? extends V, ?> traversable, CircuitPolicy policy,
+                                                                     TraverseSupport<? extends V, ? extends E> fallback) {
+        CircuitPolicy.Circuit circuit = policy.circuit(); requireNonNull(fallback);
+        return new CatchTraversable<V, Exception, E>(traversable) {
+            @Override protected <H1 extends Exception, H2 extends Exception> boolean traverse(Traversal<V, E> traversal, TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+                boolean probe = false; Boolean failed = var(false);
+                if (!circuit.closed() && !(probe = circuit.probe()))
+                    return method.traverse(fallback, traverse, ctx);
+                boolean probing = probe, result; try {
+                    result = traversal.<H1, H2>handle(caught -> {
+                        failed.flg = true; circuit.record(probing, true); return method.traverse(fallback, traverse, ctx); });
+                } catch (Throwable ex) { if (!failed.flg) circuit.release(probe); throw ex; }
+                if (!failed.flg) circuit.record(probe, false); return result;
+            }
+            @Override public TraversePlan describe() {
+                return plan(this, STATEFUL, CONSTANT, traversable, fallback); }
+        };
+    }
 }
@@ -0,0 +1,164 @@
+package org.moodminds.traverse;
+
+import org.moodminds.traverse.Traversable.Encoder;
+import org.moodminds.traverse.TraversePool.Chunk;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.format;
+
+/**
+ * The sink of the encoded items into a {@link WritableByteChannel}, as used by the {@link Traversable#write} resolvers.
+ * <p>
+ * The items are encoded by {@link Batch batches} of the {@link TraversePool} {@link ByteBuffer}s, one batch per worker
+ * {@link Thread}, and each full batch is flushed to the channel by a single gathering write, if the channel
+ * is a {@link GatheringByteChannel}. The writes of the batches are serialized, so an item is never torn,
+ * though the items of the different batches are interleaved at the buffer boundaries.
+ *
+ * @param <V> the type of item values
+ */
+final class ChannelSink<V> {
+
+    /**
+     * The number of buffers per batch.
+     */
+    private static final int GATHER = 4;
+
+    /**
+     * The target {@link WritableByteChannel} holder field.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The item {@link Encoder} holder field.
+     */
+    private final Encoder<? super V, ? extends IOException> encoder;
+
+    /**
+     * The buffer capacity holder field.
+     */
+    private final int capacity;
+
+    /**
+     * The buffer {@link TraversePool} holder field.
+     */
+    private final TraversePool pool;
+
+    /**
+     * The written bytes counter holder field.
+     */
+    private final LongAdder written = new LongAdder();
+
+    /**
+     * Construct the object with the given target {@link WritableByteChannel}, item {@link Encoder}, buffer capacity
+     * and buffer {@link TraversePool}.
+     *
+     * @param channel the given target {@link WritableByteChannel}
+     * @param encoder the given item {@link Encoder}
+     * @param capacity the given buffer capacity
+     * @param pool the given buffer {@link TraversePool}
+     */
+    ChannelSink(WritableByteChannel channel, Encoder<? super V, ? extends IOException> encoder, int capacity, TraversePool pool) {
+        this.channel = channel; this.encoder = encoder; this.capacity = capacity; this.pool = pool;
+    }
+
+    /**
+     * Return new empty {@link Batch} of this sink.
+     *
+     * @return new empty {@link Batch} of this sink
+     */
+    Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Return the number of bytes written so far.
+     *
+     * @return the number of bytes written so far
+     */
+    long written() {
+        return written.sum();
+    }
+
+
+    /**
+     * The batch of buffers the items are encoded into, filled one by one and flushed all together.
+     */
+    final class Batch {
+
+        /**
+         * The buffers holder field, acquired lazily.
+         */
+        private final ByteBuffer[] buffers = new ByteBuffer[GATHER];
+
+        /**
+         * The {@link Chunk}s of the buffers holder field.
+         */
+        private final Chunk<?>[] chunks = new Chunk<?>[GATHER];
+
+        /**
+         * The index of the buffer being filled holder field.
+         */
+        private int current;
+
+        /**
+         * Encode the given item value into this batch, flushing it when full.
+         *
+         * @param value the given item value
+         * @throws IOException if the encoding or an I/O error occurs, or the encoded item exceeds the buffer capacity
+         */
+        void encode(V value) throws IOException {
+            ByteBuffer buffer = buffer(); int mark = buffer.position();
+            try { encoder.encode(value, buffer); return; } catch (BufferOverflowException ex) { buffer.position(mark); }
+            if (++current == GATHER) flush();
+            buffer = buffer();
+            try { encoder.encode(value, buffer); } catch (BufferOverflowException ex) {
+                buffer.clear(); throw new IOException(format("Encoded item exceeds the buffer capacity: %d.", capacity), ex); }
+        }
+
+        /**
+         * Write the encoded items of this batch to the channel, by a single gathering write if possible.
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        void flush() throws IOException {
+            int count = 0; long bytes = 0L;
+            for (; count < GATHER && buffers[count] != null && buffers[count].position() != 0; count++)
+                bytes += buffers[count].flip().remaining();
+            if (count != 0) synchronized (channel) {
+                if (channel instanceof GatheringByteChannel)
+                    for (long remaining = bytes; remaining > 0L; )
+                        remaining -= ((GatheringByteChannel) channel).write(buffers, 0, count);
+                else for (int i = 0; i < count; i++)
+                    while (buffers[i].hasRemaining()) channel.write(buffers[i]);
+            }
+            for (int i = 0; i < count; i++)
+                buffers[i].clear();
+            written.add(bytes); current = 0;
+        }
+
+        /**
+         * Return the buffers of this batch to the pool.
+         */
+        void release() {
+            for (int i = 0; i < GATHER && chunks[i] != null; i++) {
+                chunks[i].release(); chunks[i] = null; buffers[i] = null; }
+        }
+
+        /**
+         * Return the buffer being filled, acquiring it from the pool if necessary.
+         *
+         * @return the buffer being filled
+         */
+        private ByteBuffer buffer() {
+            if (buffers[current] == null) {
+                Chunk<ByteBuffer> chunk = pool.buffer(capacity); chunks[current] = chunk; buffers[current] = chunk.get();
+            } return buffers[current];
+        }
+    }
+}
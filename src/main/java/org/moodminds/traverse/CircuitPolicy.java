@@ -0,0 +1,257 @@
+package org.moodminds.traverse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static org.moodminds.traverse.TraverseTime.nanos;
+
+/**
+ * An immutable policy of a circuit breaker, defining the failure rate opening the circuit, the minimum
+ * number of traversals to evaluate the rate, the sliding window of the counted traversals and the time
+ * the circuit stays open before probing the source again.
+ * <p>
+ * While the circuit is open, the traversals bypass the source. Once the open time passes, the circuit
+ * is half-open and a single traversal probes the source: its success closes the circuit, its failure opens it again.
+ */
+public class CircuitPolicy {
+
+    /**
+     * The failure rate opening the circuit holder field.
+     */
+    private final double rate;
+
+    /**
+     * The minimum number of traversals in the window to evaluate the failure rate holder field.
+     */
+    private final long minimum;
+
+    /**
+     * The sliding window length in nanoseconds holder field.
+     */
+    private final long window;
+
+    /**
+     * The sliding window buckets number holder field.
+     */
+    private final int buckets;
+
+    /**
+     * The open circuit time in nanoseconds holder field.
+     */
+    private final long open;
+
+    /**
+     * Construct the object with the given circuit breaker parameters.
+     *
+     * @param rate the given failure rate opening the circuit
+     * @param minimum the given minimum number of traversals in the window to evaluate the failure rate
+     * @param window the given sliding window length in nanoseconds
+     * @param buckets the given sliding window buckets number
+     * @param open the given open circuit time in nanoseconds
+     */
+    protected CircuitPolicy(double rate, long minimum, long window, int buckets, long open) {
+        this.rate = rate; this.minimum = minimum; this.window = window; this.buckets = buckets; this.open = open;
+    }
+
+    /**
+     * Return a copy of this policy, evaluating the failure rate once the window has at least the given number of traversals.
+     *
+     * @param minimum the given minimum number of traversals
+     * @return a copy of this policy, evaluating the failure rate once the window has at least the given number of traversals
+     * @throws IllegalArgumentException if the given minimum number of traversals is not positive
+     */
+    public CircuitPolicy minimum(long minimum) {
+        if (minimum <= 0L)
+            throw new IllegalArgumentException(format("Not positive minimum number: %d.", minimum));
+        return new CircuitPolicy(rate, minimum, window, buckets, open);
+    }
+
+    /**
+     * Return a copy of this policy, counting the traversals over the given sliding window, split into the given number of buckets.
+     *
+     * @param window the given sliding window length
+     * @param buckets the given number of buckets
+     * @return a copy of this policy, counting the traversals over the given sliding window
+     * @throws NullPointerException if the given window is {@code null}
+     * @throws IllegalArgumentException if the given window or number of buckets is not positive
+     */
+    public CircuitPolicy window(Duration window, int buckets) {
+        if (window.isNegative() || window.isZero())
+            throw new IllegalArgumentException(format("Not positive window: %s.", window));
+        if (buckets <= 0)
+            throw new IllegalArgumentException(format("Not positive buckets number: %d.", buckets));
+        return new CircuitPolicy(rate, minimum, nanos(window), buckets, open);
+    }
+
+    /**
+     * Return a copy of this policy, keeping the circuit open for the given time before probing the source.
+     *
+     * @param open the given open circuit time
+     * @return a copy of this policy, keeping the circuit open for the given time before probing the source
+     * @throws NullPointerException if the given time is {@code null}
+     * @throws IllegalArgumentException if the given time is negative
+     */
+    public CircuitPolicy open(Duration open) {
+        if (open.isNegative())
+            throw new IllegalArgumentException(format("Negative open time: %s.", open));
+        return new CircuitPolicy(rate, minimum, window, buckets, nanos(open));
+    }
+
+    /**
+     * Return new {@link Circuit} state of this policy.
+     *
+     * @return new {@link Circuit} state of this policy
+     */
+    Circuit circuit() {
+        return new Circuit();
+    }
+
+
+    /**
+     * The lock-free state of a circuit, counting the traversal outcomes in the sliding window of buckets.
+     * <p>
+     * Each bucket is a single long of the bucket epoch, the failures and the successes counts,
+     * updated by a compare-and-set, so a stale bucket is reset atomically with its first new count.
+     */
+    class Circuit {
+
+        /**
+         * The closed circuit state marker.
+         */
+        private static final long CLOSED = Long.MIN_VALUE;
+
+        /**
+         * The half-open circuit probing state marker.
+         */
+        private static final long PROBING = Long.MAX_VALUE;
+
+        /**
+         * The bucket epoch, the failures and the successes counts bits.
+         */
+        private static final int EPOCH_BITS = 24, COUNT_BITS = 20;
+
+        /**
+         * The bucket epoch and count masks.
+         */
+        private static final long EPOCH_MASK = (1L << EPOCH_BITS) - 1, COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        /**
+         * The circuit state holder field: {@link #CLOSED}, {@link #PROBING} or the time the circuit was opened.
+         */
+        private final AtomicLong state = new AtomicLong(CLOSED);
+
+        /**
+         * The sliding window buckets holder field.
+         */
+        private final AtomicLongArray cells = new AtomicLongArray(buckets);
+
+        /**
+         * The bucket length in nanoseconds holder field.
+         */
+        private final long bucket = max(1L, window / buckets);
+
+        /**
+         * The epoch origin time holder field.
+         */
+        private final long origin = nanoTime();
+
+        /**
+         * Check whether the circuit is closed.
+         *
+         * @return {@code true} if the circuit is closed
+         */
+        boolean closed() {
+            return state.get() == CLOSED;
+        }
+
+        /**
+         * Try to switch the open circuit to the half-open state to probe the source, once the open time passes.
+         *
+         * @return {@code true} if the current traversal is the probing one
+         */
+        boolean probe() {
+            long opened = state.get();
+            return opened != CLOSED && opened != PROBING && nanoTime() - opened >= open
+                    && state.compareAndSet(opened, PROBING);
+        }
+
+        /**
+         * Record the outcome of a traversal, opening or closing the circuit if needed.
+         *
+         * @param probe whether the traversal was the probing one
+         * @param failed whether the traversal failed
+         */
+        void record(boolean probe, boolean failed) {
+            if (probe) {
+                if (!failed)
+                    for (int i = 0; i < buckets; i++) cells.set(i, 0L);
+                state.set(failed ? nanoTime() : CLOSED);
+            } else if (count(failed) && failed)
+                state.compareAndSet(CLOSED, nanoTime());
+        }
+
+        /**
+         * Release a traversal with no outcome recorded, giving the half-open probe back
+         * to the open circuit, so that the next traversal probes the source again.
+         *
+         * @param probe whether the traversal was the probing one
+         */
+        void release(boolean probe) {
+            if (probe)
+                state.compareAndSet(PROBING, nanoTime() - open);
+        }
+
+        /**
+         * Count the given traversal outcome in the current bucket.
+         *
+         * @param failed whether the traversal failed
+         * @return {@code true} if the failure rate in the window reached the policy rate
+         */
+        private boolean count(boolean failed) {
+            long epoch = ((nanoTime() - origin) / bucket) & EPOCH_MASK; int index = (int) (epoch % buckets);
+            for (long cell = cells.get(index);; cell = cells.get(index))
+                if (cells.compareAndSet(index, cell, cell >>> (COUNT_BITS << 1) == epoch ? increment(cell, failed)
+                        : epoch << (COUNT_BITS << 1) | (failed ? 1L << COUNT_BITS : 1L))) break;
+            if (!failed)
+                return false;
+            long failures = 0L, total = 0L;
+            for (int i = 0; i < buckets; i++) {
+                long cell = cells.get(i);
+                if (((epoch - (cell >>> (COUNT_BITS << 1))) & EPOCH_MASK) < buckets) {
+                    long f = (cell >>> COUNT_BITS) & COUNT_MASK; failures += f; total += f + (cell & COUNT_MASK);
+                }
+            } return total >= minimum && failures >= rate * total;
+        }
+
+        /**
+         * Return the given bucket with the failures or successes count incremented, saturating at the maximum.
+         *
+         * @param cell the given bucket
+         * @param failed whether to increment the failures or the successes count
+         * @return the given bucket with the count incremented
+         */
+        private long increment(long cell, boolean failed) {
+            int shift = failed ? COUNT_BITS : 0;
+            return ((cell >>> shift) & COUNT_MASK) == COUNT_MASK ? cell : cell + (1L << shift);
+        }
+    }
+
+
+    /**
+     * Return a {@link CircuitPolicy} opening the circuit once the given failure rate is reached,
+     * evaluated over at least 10 traversals of the last minute, and keeping it open for 30 seconds.
+     *
+     * @param rate the given failure rate, from 0 (exclusive) to 1
+     * @return a {@link CircuitPolicy} opening the circuit once the given failure rate is reached
+     * @throws IllegalArgumentException if the given failure rate is not within 0 (exclusive) to 1
+     */
+    public static CircuitPolicy failures(double rate) {
+        if (!(rate > 0.0 && rate <= 1.0))
+            throw new IllegalArgumentException(format("Failure rate out of (0, 1]: %s.", rate));
+        return new CircuitPolicy(rate, 10L, 60_000_000_000L, 10, 30_000_000_000L);
+    }
+}
@@ -1,12 +1,19 @@
 package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
+import org.moodminds.sneaky.Cast;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.System.arraycopy;
+import static java.util.Collections.addAll;
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * A concatenating {@link Traversable} that emits items from each subsequent
@@ -43,11 +50,51 @@ public class ConcatTraversable<V, E extends Exception> implements Traversable<V,
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
         for (TraverseSupport<? extends V, ? extends E> traversable : traversables)
-            if (!method.traverse(traversable, traverse, ctx))
+            if (!traverse(method, traversable, traverse, ctx))
                 return false;
         return true;
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversables);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != ConcatTraversable.class) return this;
+        List<TraverseSupport<? extends V, ? extends E>> sources = new ArrayList<>(traversables.length); boolean optimized = false;
+        for (TraverseSupport<? extends V, ? extends E> traversable : traversables) {
+            TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(traversable);
+            if (source.getClass() == ConcatTraversable.class) {
+                addAll(sources, ((ConcatTraversable<? extends V, ? extends E>) source).traversables); optimized = true;
+            } else { sources.add(source); optimized |= source != traversable; }
+        }
+        return optimized ? new ConcatTraversable<>(sources.get(0), sources.get(1),
+                cast(sources.subList(2, sources.size()).toArray(new TraverseSupport<?, ?>[0]))) : this;
+    }
+
+    /**
+     * Traverse the given {@link TraverseSupport} source, inlining the direct traversal
+     * of the {@link DirectTraversable} instances, such as the {@link ScalarTraversable} and {@link EmptyTraversable} ones.
+     *
+     * @param method the specified {@link TraverseMethod} traverse method
+     * @param traversable the given {@link TraverseSupport} source
+     * @param traverse the given {@link Traverse} function
+     * @param ctx the given {@link Association} context
+     * @param <H1> the possible exception 1 type throwing by the traverse function
+     * @param <H2> the possible exception 2 type throwing by the traverse function
+     * @return the completion flag indicating either the source was completely traversed, or not
+     * @throws E in the case of traversal error
+     * @throws H1 in the case of traverse function error 1
+     * @throws H2 in the case of traverse function error 2
+     */
+    private <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, TraverseSupport<? extends V, ? extends E> traversable,
+                                                                          Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return traversable instanceof DirectTraversable
+                ? Cast.<Traversable<V, E>>cast(traversable).traverse(method, traverse, ctx) : method.traverse(traversable, traverse, ctx);
+    }
+
     /**
      * Return a concatenating {@link Traversable} that emits items from each subsequent
      * {@link TraverseSupport} source following the emission of the previous source.
@@ -1,11 +1,25 @@
 package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
+import org.moodminds.elemental.KeyValue;
+import org.moodminds.traverse.context.ContextKey;
 import org.moodminds.valuable.Variable;
+import org.moodminds.valuable.Variable.Boolean;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.elemental.Pair.pair;
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 import static org.moodminds.valuable.Variable.var;
 
 /**
@@ -17,15 +31,22 @@ import static org.moodminds.valuable.Variable.var;
  */
 public class ContextTraversable<V, E extends Exception> implements Traversable<V, E> {
 
+    /**
+     * The removed key marker of the collected context writes.
+     */
+    private static final Object REMOVED = new Object();
+
     /**
      * The {@link TraverseSupport} source holder field.
      */
     private final TraverseSupport<? extends V, ? extends E> traversable;
 
     /**
-     * The {@link Association} traversal context modification function holder field.
+     * The {@link Association} traversal context modification functions holder field,
+     * applied in order, each seeing the context modified by the previous ones, their writes collected
+     * and the context rebuilt from them only once before a function that follows a write, and before the traversal.
      */
-    private final BiConsumer<Association<?, ?, ?>, Context> contextWrite;
+    private final BiConsumer<Association<?, ?, ?>, Context>[] contextWrites;
 
     /**
      * Construct the object with the given {@link TraverseSupport} source
@@ -37,20 +58,61 @@ public class ContextTraversable<V, E extends Exception> implements Traversable<V
      * or the {@link Association} traversal context modification function is {@code null}
      */
     protected ContextTraversable(TraverseSupport<? extends V, ? extends E> traversable, BiConsumer<Association<?, ?, ?>, Context> contextWrite) {
-        this.traversable = requireNonNull(traversable); this.contextWrite = requireNonNull(contextWrite);
+        this.traversable = requireNonNull(traversable); this.contextWrites = cast(new BiConsumer<?, ?>[] {requireNonNull(contextWrite)});
+    }
+
+    /**
+     * Construct the object with the given {@link ContextTraversable} wrapped source
+     * and the outer {@link Association} traversal context modification function,
+     * fusing it with the modification functions of the wrapped source.
+     *
+     * @param traversable the given {@link ContextTraversable} wrapped source
+     * @param contextWrite the given outer {@link Association} traversal context modification function
+     * @throws NullPointerException if the given outer {@link Association} traversal context modification function is {@code null}
+     */
+    private ContextTraversable(ContextTraversable<? extends V, ? extends E> traversable, BiConsumer<Association<?, ?, ?>, Context> contextWrite) {
+        this.traversable = traversable.traversable; this.contextWrites = cast(copyOf(new BiConsumer<?, ?>[] {requireNonNull(contextWrite)},
+                traversable.contextWrites.length + 1)); arraycopy(traversable.contextWrites, 0, contextWrites, 1, traversable.contextWrites.length);
     }
 
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
 
-        Variable<Association<?, ?, ?>> context = var(ctx); contextWrite.accept(ctx, new Context() {
+        Map<Object, Object> writes = new LinkedHashMap<>(); Variable<Association<?, ?, ?>> context = var(ctx);
+        Boolean written = var(false); Context write = new Context() {
 
             @Override public Context put(Object key, Object value) {
-                context.val = Traversable.put(context.val, key, value); return this; }
+                writes.put(requireNonNull(key), requireNonNull(value)); written.flg = true; return this; }
             @Override public Context remove(Object key) {
-                context.val = Traversable.remove(context.val, key); return this; }
+                writes.put(requireNonNull(key), REMOVED); written.flg = true; return this; }
+
+        }; for (BiConsumer<Association<?, ?, ?>, Context> contextWrite : contextWrites) {
+            if (written.flg) { context.val = context(ctx, writes); written.flg = false; }
+            contextWrite.accept(context.val, write);
+        }
+
+        return method.traverse(traversable, traverse, written.flg ? context(ctx, writes) : context.val);
+    }
 
-        }); return method.traverse(traversable, traverse, context.val);
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
+
+    /**
+     * Return new {@link Association} context of the given one with the given collected writes applied, built at once.
+     *
+     * @param ctx the given {@link Association} context
+     * @param writes the given collected writes, the removed keys mapped to {@link #REMOVED}
+     * @return new {@link Association} context of the given one with the given collected writes applied
+     */
+    private static Association<?, ?, ?> context(Association<?, ?, ?> ctx, Map<Object, Object> writes) {
+        List<KeyValue<?, ?>> kvs = new ArrayList<>(ctx.size() + writes.size());
+        for (KeyValue<?, ?> kv : ctx)
+            if (!writes.containsKey(kv.getKey())) kvs.add(kv);
+        writes.forEach((key, value) -> { if (value != REMOVED) kvs.add(pair(key, value)); });
+        return Traversable.context(kvs.toArray(new KeyValue<?, ?>[0]));
     }
 
 
@@ -69,6 +131,19 @@ public class ContextTraversable<V, E extends Exception> implements Traversable<V
          */
         Context put(Object key, Object value);
 
+        /**
+         * Put the given variable value of the given {@link ContextKey} typed key to the context.
+         *
+         * @param key the given typed key of the value
+         * @param value the given value to set
+         * @param <T> the type of the value
+         * @return the self-instance
+         * @throws NullPointerException if the given key or value is {@code null}
+         */
+        default <T> Context put(ContextKey<T> key, T value) {
+            return put((Object) key, value);
+        }
+
         /**
          * Remove the given variable from the context.
          *
@@ -83,6 +158,10 @@ public class ContextTraversable<V, E extends Exception> implements Traversable<V
     /**
      * Return an implementation of the {@link Traversable} that modifies
      * the {@link Association} context before traversing the {@link TraverseSupport} source.
+     * <p>
+     * A directly wrapped {@link ContextTraversable} source is fused with the returned one,
+     * so that stacked context modifications are collected and applied in a single pass,
+     * each of them seeing the context modified by the previous ones.
      *
      * @param traversable the given {@link TraverseSupport} source
      * @param contextWrite the given {@link Association} traversal context modification function
@@ -94,6 +173,8 @@ public class ContextTraversable<V, E extends Exception> implements Traversable<V
      * or the {@link Association} traversal context modification function is {@code null}
      */
     public static <V, E extends Exception> Traversable<V, E> context(TraverseSupport<? extends V, ? extends E> traversable, BiConsumer<Association<?, ?, ?>, Context> contextWrite) {
-        return new ContextTraversable<>(traversable, contextWrite);
+        return traversable != null && traversable.getClass() == ContextTraversable.class
+                ? new ContextTraversable<V, E>((ContextTraversable<? extends V, ? extends E>) traversable, contextWrite)
+                : new ContextTraversable<>(traversable, contextWrite);
     }
 }
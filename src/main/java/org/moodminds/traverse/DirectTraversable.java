@@ -0,0 +1,11 @@
+package org.moodminds.traverse;
+
+/**
+ * A marker of the {@link Traversable} implementations that pass their {@link Traversable.Traverser} directly
+ * to the {@link Traversable.Traverse} function, regardless of the traverse method, so the composing
+ * operators may traverse them inline, bypassing the {@link TraverseMethod} dispatch.
+ * <p>
+ * The marker says nothing about the items or effects of the traversal, as the effect and exception
+ * raising traversables are marked along with the empty and scalar ones.
+ */
+interface DirectTraversable {}
@@ -5,6 +5,8 @@ import org.moodminds.valuable.Valuable;
 
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.Testable1Throwing1.anyway;
+import static org.moodminds.traverse.TraversePlan.Kind.STATEFUL;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
 import static org.moodminds.valuable.Variable.var;
 import static org.moodminds.valuable.Volatile.vol;
 
@@ -47,6 +49,18 @@ public class DropTraversable<V, E extends Exception> extends FilterTraversable<V
         return value -> drop.get().test(value);
     }
 
+    @Override
+    public TraversePlan describe() {
+        return super.describe().as(STATEFUL, CONSTANT);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != DropTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(source());
+        return source != source() ? new DropTraversable<>(source, predicate) : this;
+    }
+
 
     /**
      * Return a {@link Traversable} implementation that excludes items
@@ -1,13 +1,10 @@
 package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
+import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.ExecutableThrowing1;
 
-import java.util.stream.Stream;
-
 import static java.util.Objects.requireNonNull;
-import static org.moodminds.function.Testable1.noways;
-import static org.moodminds.sneaky.Sneak.sneak;
 
 /**
  * An implementation of the {@link Traversable} interface
@@ -16,7 +13,7 @@ import static org.moodminds.sneaky.Sneak.sneak;
  * @param <V> the type of item values
  * @param <E> the type of traversal exception
  */
-public class EffectTraversable<V, E extends Exception> extends StreamTraversable<V, E> {
+public class EffectTraversable<V, E extends Exception> implements Traversable<V, E>, DirectTraversable {
 
     /**
      * The {@link ExecutableThrowing1} execution holder field.
@@ -34,11 +31,17 @@ public class EffectTraversable<V, E extends Exception> extends StreamTraversable
     }
 
     @Override
-    protected Stream<V> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
-        return Stream.of(executable).<V>map(e -> {
-            try { e.exec(); return null; }
-            catch (Exception ex) { return sneak(ex); }
-        }).filter(noways());
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return traverse.complete(new AbstractTraverser<V, E>() {
+
+            boolean executed = false;
+
+            @Override
+            public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                requireNonNull(consumer); if (!executed) {
+                    executed = true; executable.exec(); } return false;
+            }
+        });
     }
 
 
@@ -0,0 +1,43 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.Traversable.traverser;
+
+/**
+ * An implementation of the {@link Traversable} interface that emits no items,
+ * passing an idle {@link Traverser} directly to the {@link Traverse} function.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public class EmptyTraversable<V, E extends Exception> implements Traversable<V, E>, DirectTraversable {
+
+    /**
+     * The empty {@link Traversable} singleton holder field.
+     */
+    private static final EmptyTraversable<?, ?> EMPTY = new EmptyTraversable<>();
+
+    /**
+     * Construct the object.
+     */
+    protected EmptyTraversable() {}
+
+    @Override
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return traverse.complete(traverser());
+    }
+
+
+    /**
+     * Return a {@link Traversable} implementation that emits no items.
+     *
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} implementation that emits no items
+     */
+    public static <V, E extends Exception> Traversable<V, E> empty() {
+        return cast(EMPTY);
+    }
+}
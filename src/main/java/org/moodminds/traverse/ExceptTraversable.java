@@ -5,10 +5,7 @@ import org.moodminds.function.EvaluableThrowing1;
 import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.valuable.Variable.Boolean;
 
-import java.util.stream.Stream;
-
 import static java.util.Objects.requireNonNull;
-import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.valuable.Variable.var;
 
 /**
@@ -18,7 +15,7 @@ import static org.moodminds.valuable.Variable.var;
  * @param <V> the type of item values
  * @param <E> the type of traversal exception
  */
-public class ExceptTraversable<V, E extends Exception> extends StreamTraversable<V, E> {
+public class ExceptTraversable<V, E extends Exception> implements Traversable<V, E>, DirectTraversable {
 
     /**
      * The {@link EvaluableThrowing1} exception supplier holder field.
@@ -40,29 +37,19 @@ public class ExceptTraversable<V, E extends Exception> extends StreamTraversable
 
         Boolean thrown = var(false);
 
-        boolean complete = super.<H1, H2>traverse(method, traverser -> traverse.exec(new Traverser<V, E>() {
+        boolean complete = traverse.complete(new AbstractTraverser<V, E>() {
 
             @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                requireNonNull(consumer); try {
-                    return traverser.next(consumer); }
-                catch (Throwable e) {
-                    thrown.flg = true; return sneak(e); } }
+                requireNonNull(consumer); if (!thrown.flg) {
+                    thrown.flg = true; throw exceptable.eval(); } return false; }
 
-        }), ctx);
+        });
 
         if (!thrown.flg)
             throw exceptable.eval();
         else return complete;
     }
 
-    @Override
-    protected Stream<V> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
-        return Stream.of(exceptable).map(e -> {
-            try { throw e.eval(); }
-            catch (Exception ex) { return sneak(ex); }
-        });
-    }
-
 
     /**
      * Return a {@link Traversable} implementation that throws an exception
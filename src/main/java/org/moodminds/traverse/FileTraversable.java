@@ -0,0 +1,309 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Traversable} implementation that emits the delimited records of a file, e.g. the lines,
+ * by memory-mapping it with {@link FileChannel#map}, instead of reading it through a buffered reader.
+ * <p>
+ * The file is mapped in segments of whole records, and the {@link TraverseMethod#PARALLEL parallel}
+ * traversal splits it by the segments and then by the nearest record boundaries, so each split scans
+ * only its own bytes. A record is decoded only when emitted, and the {@link #buffers(Path)} variant
+ * emits the record bytes as read-only {@link ByteBuffer} slices of the mapping, copying nothing.
+ * <p>
+ * The delimiter is a single byte, so the charset of the decoded records is expected to encode it
+ * as such and never as a part of other characters, as UTF-8 and the other ASCII compatible ones do.
+ *
+ * @param <V> the type of item values
+ */
+public class FileTraversable<V> extends StreamTraversable<V, IOException> {
+
+    /**
+     * The nominal mapped segment size.
+     */
+    private static final int SEGMENT = 1 << 30;
+
+    /**
+     * The file {@link Path} holder field.
+     */
+    private final Path path;
+
+    /**
+     * The record delimiter holder field.
+     */
+    private final byte delimiter;
+
+    /**
+     * The {@link Function} record decoder holder field.
+     */
+    private final Function<? super ByteBuffer, ? extends V> decoder;
+
+    /**
+     * The mapped segment size holder field.
+     */
+    private final int segment;
+
+    /**
+     * Construct the object with the given file {@link Path}, record delimiter and {@link Function} record decoder.
+     *
+     * @param path the given file {@link Path}
+     * @param delimiter the given record delimiter
+     * @param decoder the given {@link Function} record decoder
+     * @throws NullPointerException if the given file {@link Path} or {@link Function} record decoder is {@code null}
+     */
+    protected FileTraversable(Path path, byte delimiter, Function<? super ByteBuffer, ? extends V> decoder) {
+        this(path, delimiter, decoder, SEGMENT);
+    }
+
+    /**
+     * Construct the object with the given file {@link Path}, record delimiter, {@link Function} record decoder
+     * and mapped segment size.
+     *
+     * @param path the given file {@link Path}
+     * @param delimiter the given record delimiter
+     * @param decoder the given {@link Function} record decoder
+     * @param segment the given mapped segment size
+     * @throws NullPointerException if the given file {@link Path} or {@link Function} record decoder is {@code null}
+     * @throws IllegalArgumentException if the given mapped segment size is not positive
+     */
+    FileTraversable(Path path, byte delimiter, Function<? super ByteBuffer, ? extends V> decoder, int segment) {
+        if (segment <= 0)
+            throw new IllegalArgumentException(format("Not positive segment size: %d.", segment));
+        this.path = requireNonNull(path); this.delimiter = delimiter; this.decoder = requireNonNull(decoder);
+        this.segment = segment;
+    }
+
+    @Override
+    protected Stream<V> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws IOException {
+        ByteBuffer[] segments = map(path, delimiter, segment);
+        return StreamSupport.stream(new Records(segments, 0, 0, segments.length - 1,
+                segments.length != 0 ? segments[segments.length - 1].limit() : 0), false);
+    }
+
+
+    /**
+     * The {@link Spliterator} of the decoded records of the mapped segments, from the given position
+     * of the first segment to the given end of the last one.
+     */
+    private class Records implements Spliterator<V> {
+
+        /**
+         * The mapped segments holder field.
+         */
+        private final ByteBuffer[] segments;
+
+        /**
+         * The current segment index holder field.
+         */
+        private int segment;
+
+        /**
+         * The current position in the current segment holder field.
+         */
+        private int position;
+
+        /**
+         * The last segment index holder field.
+         */
+        private final int last;
+
+        /**
+         * The end position in the last segment holder field.
+         */
+        private final int end;
+
+        /**
+         * Construct the object with the given mapped segments, the current segment index and position in it,
+         * and the last segment index and end position in it.
+         *
+         * @param segments the given mapped segments
+         * @param segment the given current segment index
+         * @param position the given position in the current segment
+         * @param last the given last segment index
+         * @param end the given end position in the last segment
+         */
+        Records(ByteBuffer[] segments, int segment, int position, int last, int end) {
+            this.segments = segments; this.segment = segment; this.position = position; this.last = last; this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super V> action) {
+            for (; segment <= last; segment++, position = 0) {
+                ByteBuffer buffer = segments[segment]; int limit = segment < last ? buffer.limit() : end;
+                if (position < limit) {
+                    int record = find(buffer, position, limit), from = position, to = record;
+                    if (delimiter == '\n' && to > from && buffer.get(to - 1) == '\r') to--;
+                    position = record < limit ? record + 1 : limit;
+                    action.accept(decoder.apply(slice(buffer, from, to))); return true;
+                }
+            } return false;
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            if (segment < last) {
+                int middle = (segment + last + 1) >>> 1;
+                Records prefix = new Records(segments, segment, position, middle - 1, segments[middle - 1].limit());
+                segment = middle; position = 0; return prefix;
+            }
+            if (segment > last)
+                return null;
+            int split = find(segments[segment], position + (end - position) / 2, end);
+            if (split >= end - 1)
+                return null;
+            Records prefix = new Records(segments, segment, position, segment, split + 1);
+            position = split + 1; return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0L;
+            for (int i = segment; i <= last; i++)
+                size += (i < last ? segments[i].limit() : end) - (i == segment ? position : 0);
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Return the index of the first delimiter in the given buffer from the given position,
+         * or the given limit if none.
+         *
+         * @param buffer the given buffer
+         * @param position the given position
+         * @param limit the given limit
+         * @return the index of the first delimiter in the given buffer from the given position, or the given limit
+         */
+        private int find(ByteBuffer buffer, int position, int limit) {
+            while (position < limit && buffer.get(position) != delimiter)
+                position++;
+            return position;
+        }
+    }
+
+
+    /**
+     * Map the file of the given {@link Path} in read-only segments of whole delimited records,
+     * each of at least the given nominal size, except the last one.
+     *
+     * @param path the given file {@link Path}
+     * @param delimiter the given record delimiter
+     * @param segment the given nominal segment size
+     * @return the mapped segments
+     * @throws IOException if an I/O error occurs or a record is too long to be mapped
+     */
+    private static ByteBuffer[] map(Path path, byte delimiter, int segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            List<ByteBuffer> segments = new ArrayList<>(); ByteBuffer probe = ByteBuffer.allocate(8192);
+            for (long start = 0L, size = channel.size(), end; start < size; start = end) {
+                for (end = min(start + segment, size); end < size; end += probe.limit()) {
+                    probe.clear(); channel.read(probe, end); probe.flip(); int i = 0;
+                    while (i < probe.limit() && probe.get(i) != delimiter) i++;
+                    if (i < probe.limit()) { end += i + 1; break; }
+                    if (probe.limit() == 0) { end = size; break; }
+                }
+                if (end - start > Integer.MAX_VALUE)
+                    throw new IOException(format("Record too long to be mapped at %d: %s.", start, path));
+                segments.add(channel.map(READ_ONLY, start, end - start));
+            }
+            return segments.toArray(new ByteBuffer[0]);
+        }
+    }
+
+    /**
+     * Return the read-only slice of the given buffer from the given position to the given limit.
+     *
+     * @param buffer the given buffer
+     * @param position the given position
+     * @param limit the given limit
+     * @return the read-only slice of the given buffer from the given position to the given limit
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int limit) {
+        ByteBuffer slice = buffer.asReadOnlyBuffer(); slice.limit(limit).position(position); return slice.slice();
+    }
+
+    /**
+     * Return the given {@link Charset} decoder of the record bytes.
+     *
+     * @param charset the given {@link Charset}
+     * @return the given {@link Charset} decoder of the record bytes
+     */
+    private static Function<ByteBuffer, String> decoder(Charset charset) {
+        requireNonNull(charset); return buffer -> {
+            byte[] bytes = new byte[buffer.remaining()]; buffer.get(bytes); return new String(bytes, charset);
+        };
+    }
+
+
+    /**
+     * Return a {@link Traversable} that emits the UTF-8 lines of the file of the given {@link Path}.
+     *
+     * @param path the given file {@link Path}
+     * @return a {@link Traversable} that emits the UTF-8 lines of the file of the given {@link Path}
+     * @throws NullPointerException if the given file {@link Path} is {@code null}
+     */
+    public static Traversable<String, IOException> lines(Path path) {
+        return lines(path, UTF_8);
+    }
+
+    /**
+     * Return a {@link Traversable} that emits the lines of the file of the given {@link Path},
+     * decoded by the given ASCII compatible {@link Charset}.
+     *
+     * @param path the given file {@link Path}
+     * @param charset the given ASCII compatible {@link Charset}
+     * @return a {@link Traversable} that emits the lines of the file of the given {@link Path}
+     * @throws NullPointerException if the given file {@link Path} or {@link Charset} is {@code null}
+     */
+    public static Traversable<String, IOException> lines(Path path, Charset charset) {
+        return new FileTraversable<>(path, (byte) '\n', decoder(charset));
+    }
+
+    /**
+     * Return a {@link Traversable} that emits the lines of the file of the given {@link Path}
+     * as read-only {@link ByteBuffer} slices of the file mapping, without the line terminators.
+     *
+     * @param path the given file {@link Path}
+     * @return a {@link Traversable} that emits the lines of the file of the given {@link Path} as {@link ByteBuffer} slices
+     * @throws NullPointerException if the given file {@link Path} is {@code null}
+     */
+    public static Traversable<ByteBuffer, IOException> buffers(Path path) {
+        return buffers(path, (byte) '\n');
+    }
+
+    /**
+     * Return a {@link Traversable} that emits the records of the file of the given {@link Path}, separated by
+     * the given delimiter, as read-only {@link ByteBuffer} slices of the file mapping, without the delimiters.
+     *
+     * @param path the given file {@link Path}
+     * @param delimiter the given record delimiter
+     * @return a {@link Traversable} that emits the records of the file of the given {@link Path} as {@link ByteBuffer} slices
+     * @throws NullPointerException if the given file {@link Path} is {@code null}
+     */
+    public static Traversable<ByteBuffer, IOException> buffers(Path path, byte delimiter) {
+        return new FileTraversable<>(path, delimiter, buffer -> buffer);
+    }
+}
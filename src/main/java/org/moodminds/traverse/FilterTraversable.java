@@ -4,7 +4,14 @@ import org.moodminds.elemental.Association;
 import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Testable1Throwing1;
 
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * Represents a {@link Traversable} implementation that filters
@@ -33,8 +40,29 @@ public abstract class FilterTraversable<V, E extends Exception> implements Trave
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
 
-        Testable1Throwing1<? super V, ? extends E> filter = filter(method);
+        TraverseMetrics.Stats stats = TraverseMetrics.stats(this, ctx);
+        if (stats == null)
+            return traverse(method, filter(method), traverse, ctx);
+        try { return stats.outcome(traverse(method, stats.tested(filter(method)), traverse, ctx)); }
+        catch (Throwable ex) { return stats.failure(ex); }
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
 
+    /**
+     * Return the {@link TraverseSupport} source.
+     *
+     * @return the {@link TraverseSupport} source
+     */
+    TraverseSupport<? extends V, ? extends E> source() {
+        return traversable;
+    }
+
+    private <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Testable1Throwing1<? super V, ? extends E> filter,
+                                                                          Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
         return method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new Traverser<>() {
 
             @Override public <X extends Exception> boolean next(Executable1Throwing1<? super V, ? extends X> consumer) throws E, X {
@@ -55,6 +83,41 @@ public abstract class FilterTraversable<V, E extends Exception> implements Trave
         }), ctx);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@link #filter(TraverseMethod) filter} is created on the first item reaching it, so that both
+     * the source and the filter errors are raised by the {@link Stream} terminal operation.
+     *
+     * @param method {@inheritDoc}
+     * @param ctx    {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<V> toStream(TraverseMethod method, Association<?, ?, ?> ctx) {
+        requireNonNull(method); AtomicReference<Testable1Throwing1<? super V, ? extends E>> filter = new AtomicReference<>();
+        return Traversable.<V, E>toStream(traversable, method, ctx).filter(value -> {
+            try { return filter(method, filter).test(value); }
+            catch (Exception ex) { return sneak(ex); }
+        });
+    }
+
+    /**
+     * Return the filter of the given {@link AtomicReference} holder, creating it once for
+     * the given {@link TraverseMethod traverse method} if necessary.
+     *
+     * @param method the given {@link TraverseMethod traverse method}
+     * @param filter the given {@link AtomicReference} filter holder
+     * @return the filter of the given {@link AtomicReference} holder
+     * @throws E in case of the filter creation error
+     */
+    private Testable1Throwing1<? super V, ? extends E> filter(TraverseMethod method, AtomicReference<Testable1Throwing1<? super V, ? extends E>> filter) throws E {
+        Testable1Throwing1<? super V, ? extends E> current = filter.get();
+        if (current == null) synchronized (filter) {
+            if ((current = filter.get()) == null) filter.set(current = filter(method)); }
+        return current;
+    }
+
     protected abstract Testable1Throwing1<? super V, ? extends E> filter(TraverseMethod method) throws E;
 
 
@@ -73,6 +136,9 @@ public abstract class FilterTraversable<V, E extends Exception> implements Trave
         requireNonNull(filter); return new FilterTraversable<>(traversable) {
             @Override protected Testable1Throwing1<? super V, ? extends E> filter(TraverseMethod method) {
                 return filter; }
+            @Override public Traversable<V, E> optimize() {
+                TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(traversable);
+                return source != traversable ? filter(source, filter) : this; }
         };
     }
 }
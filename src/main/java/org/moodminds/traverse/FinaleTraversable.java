@@ -6,6 +6,9 @@ import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.Executable1.idle;
 import static org.moodminds.traverse.Traversable.each;
 import static org.moodminds.traverse.Traversable.traversable;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * A composite {@link Traversable} that first applies the traverse function to the items from the initial
@@ -42,6 +45,11 @@ public class FinaleTraversable<V, E extends Exception> implements Traversable<V,
         try { return method.traverse(traversable, traverse, ctx); } finally { finale.traverse(each(idle())); }
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable, finale);
+    }
+
 
     /**
      * Return a composite {@link Traversable} that first applies the traverse function to the items from the initial
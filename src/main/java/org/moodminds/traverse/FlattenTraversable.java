@@ -2,16 +2,19 @@ package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
 import org.moodminds.function.Executable1Throwing3;
-import org.moodminds.valuable.Variable.Boolean;
 import org.moodminds.function.Evaluable1Throwing1;
 import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Testable1Throwing1;
+import org.moodminds.sneaky.Cast;
 
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.Executable1Throwing3.idle;
-import static org.moodminds.traverse.Traversable.traverser;
 import static org.moodminds.sneaky.Sneak.sneak;
-import static org.moodminds.valuable.Variable.var;
+import static org.moodminds.traverse.EmptyTraversable.empty;
+import static org.moodminds.traverse.Traversable.traverser;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * An implementation of the {@link Traversable} interface that transforms
@@ -48,10 +51,31 @@ public class FlattenTraversable<S, V, E extends Exception> implements Traversabl
 
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        TraverseMetrics.Stats stats = TraverseMetrics.stats(this, ctx);
+        if (stats == null)
+            return traverse(method, flattener, traverse, ctx);
+        try { return stats.outcome(traverse(method, stats.timed(flattener), traverse, ctx)); }
+        catch (Throwable ex) { return stats.failure(ex); }
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != FlattenTraversable.class) return this;
+        TraverseSupport<? extends S, ? extends E> source = TraversePlan.optimize(traversable);
+        return source != traversable ? new FlattenTraversable<>(source, flattener) : this;
+    }
+
+    private <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Evaluable1Throwing1<? super S, ? extends TraverseSupport<? extends V, ? extends E>, ? extends E> flattener,
+                                                                          Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
 
         return method.<S, E, E, H1, H2>traverse(traversable, traverse.complete(traverser()) ? method.isSequence()
 
-                ? source -> source.<E, H1, H2>some(value -> method.traverse(flattener.eval(value), traverse, ctx))
+                ? source -> source.<E, H1, H2>some(value -> traverse(method, flattener.eval(value), traverse, ctx))
 
                 : new Executable1Throwing3<>() {
 
@@ -60,14 +84,23 @@ public class FlattenTraversable<S, V, E extends Exception> implements Traversabl
                     @Override
                     public void exec(TraverseSupport.Traverser<? extends S, ? extends E> source) throws E, H1, H2 {
                         try {
-                            source.<E, H1, H2>some(value -> method.<V, E, H1, H2>traverse(flattener.eval(value), traverser -> traverse.exec(new Traverser<>() {
+                            source.<E, H1, H2>some(value -> FlattenTraversable.this.<H1, H2>traverse(method, flattener.eval(value), traverser -> traverse.exec(new Traverser<>() {
 
                                 @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
                                     requireNonNull(consumer); return !breach && traverser.next(consumer); }
 
+                                final Testable1Throwing1<V, Exception> test = this::test;
+
+                                Testable1Throwing1<? super V, ?> predicate; boolean next;
+
                                 @Override public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                                    requireNonNull(consumer); Boolean next = var(false); return !breach && traverser.some(value ->
-                                            (next.flg = false) || !breach && (next.flg = true) && consumer.test(value)) && next.flg; }
+                                    requireNonNull(consumer); if (breach) return false;
+                                    predicate = consumer; next = false; try {
+                                        return traverser.<Exception>some(test) && next;
+                                    } catch (Exception ex) { return sneak(ex); } }
+
+                                private boolean test(V value) throws Exception {
+                                    return (next = false) || !breach && (next = true) && predicate.test(value); }
 
                             }), ctx) || !(breach = true));
                         } catch (Throwable ex) { breach = true; sneak(ex); }
@@ -76,6 +109,27 @@ public class FlattenTraversable<S, V, E extends Exception> implements Traversabl
                 } : idle(), ctx);
     }
 
+    /**
+     * Traverse the given flattened {@link TraverseSupport} source, skipping the empty {@link Traversable}
+     * singleton and inlining the direct traversal of the {@link DirectTraversable} instances.
+     *
+     * @param method the specified {@link TraverseMethod} traverse method
+     * @param traversable the given flattened {@link TraverseSupport} source
+     * @param traverse the given {@link Traverse} function
+     * @param ctx the given {@link Association} context
+     * @param <H1> the possible exception 1 type throwing by the traverse function
+     * @param <H2> the possible exception 2 type throwing by the traverse function
+     * @return the completion flag indicating either the source was completely traversed, or not
+     * @throws E in the case of traversal error
+     * @throws H1 in the case of traverse function error 1
+     * @throws H2 in the case of traverse function error 2
+     */
+    private <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, TraverseSupport<? extends V, ? extends E> traversable,
+                                                                          Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return traversable == empty() || (traversable instanceof DirectTraversable
+                ? Cast.<Traversable<V, E>>cast(traversable).traverse(method, traverse, ctx) : method.traverse(traversable, traverse, ctx));
+    }
+
 
     /**
      * Return an implementation of the {@link Traversable} interface that transforms
@@ -5,6 +5,9 @@ import org.moodminds.elemental.Association;
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.Executable1.idle;
 import static org.moodminds.traverse.Traversable.each;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * A composite {@link Traversable} that first performs a full traversal of the initial {@link TraverseSupport}
@@ -41,6 +44,11 @@ public class FollowTraversable<V, E extends Exception> implements Traversable<V,
         method.traverse(before, each(idle()), ctx); return method.traverse(after, traverse, ctx);
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, before, after);
+    }
+
     /**
      * Return a composite {@link Traversable} that first performs a full traversal of the initial {@link TraverseSupport}
      * source and then applies the traverse function to the items from the second {@link TraverseSupport} source.
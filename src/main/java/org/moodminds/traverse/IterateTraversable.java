@@ -19,7 +19,7 @@ import static org.moodminds.sneaky.Sneak.sneak;
  * @param <V> the type of item value
  * @param <E> the type of traversal exception
  */
-public class IterateTraversable<V, E extends Exception> extends StreamTraversable<V, E> {
+public class IterateTraversable<V, E extends Exception> extends StreamTraversable<V, E> implements Resumable<V, E> {
 
     /**
      * The initial item holder field.
@@ -36,6 +36,11 @@ public class IterateTraversable<V, E extends Exception> extends StreamTraversabl
      */
     private final Testable1Throwing1<? super V, ? extends E> predicate;
 
+    /**
+     * The initial item exclusion flag holder field.
+     */
+    private final boolean tail;
+
     /**
      * Construct the object with the given initial item, generating {@link Evaluable1Throwing1}
      * function and item values {@link Testable1Throwing1} predicate.
@@ -45,7 +50,7 @@ public class IterateTraversable<V, E extends Exception> extends StreamTraversabl
      * @throws NullPointerException if the specified generating {@link Evaluable1Throwing1} function is {@code null}
      */
     protected IterateTraversable(V init, Evaluable1Throwing1<? super V, ? extends V, ? extends E> seed) {
-        this.init = init; this.seed = requireNonNull(seed); this.predicate = null;
+        this.init = init; this.seed = requireNonNull(seed); this.predicate = null; this.tail = false;
     }
 
     /**
@@ -59,13 +64,41 @@ public class IterateTraversable<V, E extends Exception> extends StreamTraversabl
      * function or item values {@link Testable1Throwing1} predicate is {@code null}
      */
     protected IterateTraversable(V init, Evaluable1Throwing1<? super V, ? extends V, ? extends E> seed, Testable1Throwing1<? super V, ? extends E> predicate) {
-        this.init = init; this.seed = requireNonNull(seed); this.predicate = requireNonNull(predicate);
+        this.init = init; this.seed = requireNonNull(seed); this.predicate = requireNonNull(predicate); this.tail = false;
+    }
+
+    /**
+     * Construct the object with the given initial item, generating {@link Evaluable1Throwing1}
+     * function, item values {@link Testable1Throwing1} predicate and initial item exclusion flag.
+     *
+     * @param init the given initial item value
+     * @param seed the given generating {@link Evaluable1Throwing1} function
+     * @param predicate the given item values {@link Testable1Throwing1} predicate, {@code null} if none
+     * @param tail the given initial item exclusion flag
+     */
+    private IterateTraversable(V init, Evaluable1Throwing1<? super V, ? extends V, ? extends E> seed, Testable1Throwing1<? super V, ? extends E> predicate, boolean tail) {
+        this.init = init; this.seed = seed; this.predicate = predicate; this.tail = tail;
     }
 
     @Override
     protected Stream<V> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
-        return predicate == null ? Stream.iterate(init, seed(seed))
+        Stream<V> stream = predicate == null ? Stream.iterate(init, seed(seed))
                 : Stream.iterate(init, predicate(predicate), seed(seed));
+        return tail ? stream.skip(1L) : stream;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Continues the iteration from the given last traversed item value, so the position is not needed.
+     *
+     * @param position {@inheritDoc}
+     * @param value {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Traversable<V, E> resume(long position, V value) {
+        return new IterateTraversable<>(value, seed, predicate, true);
     }
 
     private UnaryOperator<V> seed(Evaluable1Throwing1<? super V, ? extends V, ? extends E> seed) {
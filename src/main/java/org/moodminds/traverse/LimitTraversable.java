@@ -4,10 +4,12 @@ import org.moodminds.elemental.Association;
 import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.valuable.Valuable.Long;
-import org.moodminds.valuable.Variable.Boolean;
 
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.valuable.Variable.var;
 import static org.moodminds.valuable.Volatile.vol;
 
@@ -46,25 +48,54 @@ public class LimitTraversable<V, E extends Exception> extends BreachTraversable<
 
         return method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new Traverser<>() {
 
+            final Executable1Throwing1<V, Exception> accept = this::accept;
+            final Testable1Throwing1<V, Exception> test = this::test;
+
+            Executable1Throwing1<? super V, ?> consumer; Testable1Throwing1<? super V, ?> predicate; boolean fulfilled;
+
             @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                requireNonNull(consumer); Boolean fulfilled = var(false); return counter.get() < number && traverser.<E, H>next(value -> {
-                    if (counter.incr() <= number) {
-                        fulfilled.flg = true; consumer.exec(value); }
-                }) && fulfilled.flg; }
+                requireNonNull(consumer); if (counter.get() >= number) return false;
+                this.consumer = consumer; fulfilled = false; try {
+                    return traverser.<Exception>next(accept) && fulfilled;
+                } catch (Exception ex) { return sneak(ex); } }
 
             @Override public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                requireNonNull(consumer); Boolean fulfilled = var(false); return counter.get() < number && traverser.<E, H>some(value -> {
-                    long count = counter.incr();
-                    if (count < number)
-                        return (fulfilled.flg = true) && consumer.test(value);
-                    if (count == number) {
-                        fulfilled.flg = !consumer.test(value); return false;
-                    } return fulfilled.flg = false;
-                }) && fulfilled.flg; }
+                requireNonNull(consumer); if (counter.get() >= number) return false;
+                this.predicate = consumer; fulfilled = false; try {
+                    return traverser.<Exception>some(test) && fulfilled;
+                } catch (Exception ex) { return sneak(ex); } }
+
+            private void accept(V value) throws Exception {
+                if (counter.incr() <= number) {
+                    fulfilled = true; consumer.exec(value); }
+            }
+
+            private boolean test(V value) throws Exception {
+                long count = counter.incr();
+                if (count < number)
+                    return (fulfilled = true) && predicate.test(value);
+                if (count == number) {
+                    fulfilled = !predicate.test(value); return false;
+                } return fulfilled = false;
+            }
 
         }), ctx);
     }
 
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != LimitTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(source());
+        if (source.getClass() == LimitTraversable.class) {
+            LimitTraversable<? extends V, ? extends E> inner = cast(source);
+            return new LimitTraversable<>(inner.source(), min(number, inner.number));
+        }
+        if (source.getClass() == RecordTraversable.class) {
+            RecordTraversable<? extends E> records = cast(source); return cast(records.slice(0L, number));
+        }
+        return source != source() ? new LimitTraversable<>(source, number) : this;
+    }
+
     /**
      * Return a {@link Traversable} implementation that emits items from the given
      * {@link TraverseSupport} source while not reaching the given items limit.
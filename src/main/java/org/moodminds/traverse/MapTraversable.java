@@ -6,8 +6,15 @@ import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Executable1Throwing2;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.function.Testable1Throwing2;
+import org.moodminds.sneaky.Cast;
+
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * An implementation of the {@link Traversable} interface that transforms
@@ -44,6 +51,46 @@ public class MapTraversable<S, V, E extends Exception> implements Traversable<V,
 
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        TraverseMetrics.Stats stats = TraverseMetrics.stats(this, ctx);
+        if (stats == null)
+            return traverse(method, mapper, traverse, ctx);
+        try { return stats.outcome(traverse(method, stats.timed(mapper), traverse, ctx)); }
+        catch (Throwable ex) { return stats.failure(ex); }
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != MapTraversable.class) return this;
+        TraverseSupport<? extends S, ? extends E> source = TraversePlan.optimize(traversable);
+        if (source.getClass() == MapTraversable.class)
+            return fuse(Cast.<MapTraversable<?, ? extends S, ? extends E>>cast(source), mapper);
+        return source != traversable ? new MapTraversable<>(source, mapper) : this;
+    }
+
+    /**
+     * Return a {@link MapTraversable} of the given {@link MapTraversable} source mapper and the given one fused.
+     *
+     * @param traversable the given {@link MapTraversable} source
+     * @param mapper the given {@link Evaluable1Throwing1} mapper
+     * @param <R> the type of the source items
+     * @param <S> the type of the intermediate items
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link MapTraversable} of the given {@link MapTraversable} source mapper and the given one fused
+     */
+    private static <R, S, V, E extends Exception> Traversable<V, E> fuse(MapTraversable<R, ? extends S, ? extends E> traversable,
+                                                                         Evaluable1Throwing1<? super S, ? extends V, ? extends E> mapper) {
+        Evaluable1Throwing1<? super R, ? extends S, ? extends E> inner = traversable.mapper;
+        return new MapTraversable<R, V, E>(traversable.traversable, value -> mapper.eval(inner.eval(value)));
+    }
+
+    private <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Evaluable1Throwing1<? super S, ? extends V, ? extends E> mapper,
+                                                                          Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
         return method.<S, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new Traverser<>() {
 
             @Override public <X extends Exception> boolean next(Executable1Throwing1<? super V, ? extends X> consumer) throws E, X {
@@ -58,6 +105,27 @@ public class MapTraversable<S, V, E extends Exception> implements Traversable<V,
         }), ctx);
     }
 
+    /**
+     * Return the number of items by the source for the given {@link TraverseMethod traverse method}
+     * and {@link Association} context, as the mapping preserves it.
+     *
+     * @param method the given {@link TraverseMethod traverse method}
+     * @param ctx    the given {@link Association} context
+     * @return the number of items
+     * @throws E in case of the traversal error
+     */
+    long count(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        return Traversable.<S, E, E>count().resolve(method, traversable, ctx);
+    }
+
+    @Override
+    public Stream<V> toStream(TraverseMethod method, Association<?, ?, ?> ctx) {
+        return Traversable.<S, E>toStream(traversable, method, ctx).<V>map(value -> {
+            try { return mapper.eval(value); }
+            catch (Exception ex) { return sneak(ex); }
+        });
+    }
+
     private <X extends Exception> Executable1Throwing2<S, E, X> map(Executable1Throwing1<? super V, ? extends X> consumer, Evaluable1Throwing1<? super S, ? extends V, ? extends E> mapper) {
         requireNonNull(consumer); return value -> consumer.exec(mapper.eval(value));
     }
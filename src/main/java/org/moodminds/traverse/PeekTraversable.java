@@ -6,7 +6,13 @@ import org.moodminds.function.Executable1Throwing2;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.function.Testable1Throwing2;
 
+import java.util.stream.Stream;
+
 import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * An implementation of the {@link Traversable} interface that executes the specified
@@ -56,6 +62,39 @@ public class PeekTraversable<V, E extends Exception> implements Traversable<V, E
         }), ctx);
     }
 
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != PeekTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(traversable);
+        return source != traversable ? new PeekTraversable<>(source, peeker) : this;
+    }
+
+    /**
+     * Return the number of items by the source for the given {@link TraverseMethod traverse method}
+     * and {@link Association} context, as the peeking preserves it.
+     *
+     * @param method the given {@link TraverseMethod traverse method}
+     * @param ctx    the given {@link Association} context
+     * @return the number of items
+     * @throws E in case of the traversal error
+     */
+    long count(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        return Traversable.<V, E, E>count().resolve(method, traversable, ctx);
+    }
+
+    @Override
+    public Stream<V> toStream(TraverseMethod method, Association<?, ?, ?> ctx) {
+        return Traversable.<V, E>toStream(traversable, method, ctx).peek(value -> {
+            try { peeker.exec(value); }
+            catch (Exception ex) { sneak(ex); }
+        });
+    }
+
     private <X extends Exception> Executable1Throwing2<V, E, X> peek(Executable1Throwing1<? super V, ? extends X> consumer, Executable1Throwing1<? super V, ? extends E> peeker) {
         requireNonNull(consumer); return value -> { peeker.exec(value); consumer.exec(value); };
     }
@@ -0,0 +1,405 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.EvaluableThrowing1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Traversable} implementation that emits the fixed-size records of a {@link ByteBuffer}
+ * or a memory-mapped {@link FileChannel} as a reusable {@link View flyweight view}, allocating nothing per record.
+ * <p>
+ * The records are split evenly by index in the {@link TraverseMethod#PARALLEL parallel} traversal, each
+ * split having its own {@link View}, and the splits report the {@link Spliterator#SIZED SIZED} and
+ * {@link Spliterator#SUBSIZED SUBSIZED} characteristics. The {@link SkipTraversable} and {@link LimitTraversable}
+ * of this traversable are {@link Traversable#optimize() rewritten} to the range of records, not traversing the skipped ones.
+ * <p>
+ * The emitted {@link View} is valid only until the next record is emitted, so the consumers that retain
+ * the records should copy their values.
+ *
+ * @param <E> the type of traversal exception
+ */
+public class RecordTraversable<E extends Exception> extends StreamTraversable<RecordTraversable.View, E> {
+
+    /**
+     * The nominal mapped segment size.
+     */
+    private static final int SEGMENT = 1 << 30;
+
+    /**
+     * The {@link EvaluableThrowing1} supplier of the record segments holder field.
+     */
+    private final EvaluableThrowing1<? extends ByteBuffer[], ? extends E> segments;
+
+    /**
+     * The record size holder field.
+     */
+    private final int size;
+
+    /**
+     * The index of the first record to emit holder field.
+     */
+    private final long from;
+
+    /**
+     * The index of the record to stop before holder field.
+     */
+    private final long to;
+
+    /**
+     * Construct the object with the given {@link EvaluableThrowing1} supplier of the record segments,
+     * record size and the range of record indexes to emit.
+     * <p>
+     * Each of the supplied segments, except the last one, holds the same whole number of records.
+     *
+     * @param segments the given {@link EvaluableThrowing1} supplier of the record segments
+     * @param size the given record size
+     * @param from the given index of the first record to emit
+     * @param to the given index of the record to stop before
+     * @throws NullPointerException if the given {@link EvaluableThrowing1} supplier is {@code null}
+     * @throws IllegalArgumentException if the given record size is not positive or the range is negative
+     */
+    protected RecordTraversable(EvaluableThrowing1<? extends ByteBuffer[], ? extends E> segments, int size, long from, long to) {
+        if (size <= 0)
+            throw new IllegalArgumentException(format("Not positive record size: %d.", size));
+        if (from < 0L || to < from)
+            throw new IllegalArgumentException(format("Negative record range: %d, %d.", from, to));
+        this.segments = requireNonNull(segments); this.size = size; this.from = from; this.to = to;
+    }
+
+    @Override
+    protected Stream<View> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        ByteBuffer[] segments = this.segments.eval(); long count = 0L;
+        for (ByteBuffer segment : segments)
+            count += segment.limit() / size;
+        long fence = min(to, count);
+        return StreamSupport.stream(new Records(segments, segments.length != 0 ? segments[0].limit() / size : 1,
+                min(from, fence), fence), false);
+    }
+
+    /**
+     * Return a {@link RecordTraversable} of the records of this one, skipping the given number of
+     * leading records and limiting the rest to the given number.
+     *
+     * @param skip the given number of leading records to skip
+     * @param limit the given number of records to limit to
+     * @return a {@link RecordTraversable} of the given range of the records of this one
+     */
+    RecordTraversable<E> slice(long skip, long limit) {
+        long from = this.from + skip < 0L ? Long.MAX_VALUE : this.from + skip;
+        return new RecordTraversable<>(segments, size, from, min(to, from + limit < 0L ? Long.MAX_VALUE : from + limit));
+    }
+
+
+    /**
+     * The {@link Spliterator} of the records of the segments by the range of indexes.
+     */
+    private class Records implements Spliterator<View> {
+
+        /**
+         * The record segments holder field.
+         */
+        private final ByteBuffer[] segments;
+
+        /**
+         * The number of records per segment holder field.
+         */
+        private final long records;
+
+        /**
+         * The {@link View} of the current record holder field.
+         */
+        private final View view = new View(size);
+
+        /**
+         * The current record index holder field.
+         */
+        private long index;
+
+        /**
+         * The record index to stop before holder field.
+         */
+        private final long fence;
+
+        /**
+         * Construct the object with the given record segments, number of records per segment and range of record indexes.
+         *
+         * @param segments the given record segments
+         * @param records the given number of records per segment
+         * @param index the given index of the first record
+         * @param fence the given index of the record to stop before
+         */
+        Records(ByteBuffer[] segments, long records, long index, long fence) {
+            this.segments = segments; this.records = records; this.index = index; this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super View> action) {
+            if (index >= fence) return false;
+            action.accept(view(index++)); return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super View> action) {
+            for (long fence = this.fence; index < fence; )
+                action.accept(view(index++));
+        }
+
+        @Override
+        public Spliterator<View> trySplit() {
+            long middle = (index + fence) >>> 1;
+            if (middle <= index) return null;
+            Records prefix = new Records(segments, records, index, middle);
+            index = middle; return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Position the {@link View} at the record of the given index.
+         *
+         * @param index the given record index
+         * @return the {@link View} positioned at the record of the given index
+         */
+        private View view(long index) {
+            return view.at(segments[(int) (index / records)], (int) (index % records) * size, index);
+        }
+    }
+
+
+    /**
+     * A reusable flyweight view of a fixed-size record, reading its fields at the given
+     * offsets within the record by the byte order of the underlying buffer.
+     */
+    public static class View {
+
+        /**
+         * The record size holder field.
+         */
+        private final int size;
+
+        /**
+         * The underlying buffer holder field.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * The record offset in the underlying buffer holder field.
+         */
+        private int offset;
+
+        /**
+         * The record index holder field.
+         */
+        private long index;
+
+        /**
+         * Construct the object with the given record size.
+         *
+         * @param size the given record size
+         */
+        protected View(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Position this view at the record of the given index and offset in the given buffer.
+         *
+         * @param buffer the given buffer
+         * @param offset the given record offset
+         * @param index the given record index
+         * @return this view
+         */
+        View at(ByteBuffer buffer, int offset, long index) {
+            this.buffer = buffer; this.offset = offset; this.index = index; return this;
+        }
+
+        /**
+         * Return the record index.
+         *
+         * @return the record index
+         */
+        public long index() { return index; }
+
+        /**
+         * Return the record size.
+         *
+         * @return the record size
+         */
+        public int size() { return size; }
+
+        /**
+         * Return the byte at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the byte at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public byte get(int offset) { return buffer.get(position(offset, Byte.BYTES)); }
+
+        /**
+         * Return the short at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the short at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public short getShort(int offset) { return buffer.getShort(position(offset, Short.BYTES)); }
+
+        /**
+         * Return the int at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the int at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public int getInt(int offset) { return buffer.getInt(position(offset, Integer.BYTES)); }
+
+        /**
+         * Return the long at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the long at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public long getLong(int offset) { return buffer.getLong(position(offset, Long.BYTES)); }
+
+        /**
+         * Return the float at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the float at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public float getFloat(int offset) { return buffer.getFloat(position(offset, Float.BYTES)); }
+
+        /**
+         * Return the double at the given offset within the record.
+         *
+         * @param offset the given offset within the record
+         * @return the double at the given offset within the record
+         * @throws IndexOutOfBoundsException if the offset is out of the record
+         */
+        public double getDouble(int offset) { return buffer.getDouble(position(offset, Double.BYTES)); }
+
+        /**
+         * Return a copy of the record bytes.
+         *
+         * @return a copy of the record bytes
+         */
+        public byte[] copy() {
+            byte[] bytes = new byte[size];
+            for (int i = 0; i < size; i++)
+                bytes[i] = buffer.get(offset + i);
+            return bytes;
+        }
+
+        /**
+         * Return the position in the underlying buffer of the field of the given length at the given offset.
+         *
+         * @param offset the given offset within the record
+         * @param length the given field length
+         * @return the position in the underlying buffer of the field
+         * @throws IndexOutOfBoundsException if the field is out of the record
+         */
+        private int position(int offset, int length) {
+            if (offset < 0 || offset > size - length)
+                throw new IndexOutOfBoundsException(format("Field of %d bytes at %d out of record of %d bytes.", length, offset, size));
+            return this.offset + offset;
+        }
+
+        @Override
+        public String toString() {
+            return format("View[index=%d, size=%d]", index, size);
+        }
+    }
+
+
+    /**
+     * Map the given {@link FileChannel} in read-only segments of whole records of the given size.
+     *
+     * @param channel the given {@link FileChannel}
+     * @param size the given record size
+     * @param order the given {@link ByteOrder}
+     * @return the mapped segments
+     * @throws IOException if an I/O error occurs
+     */
+    private static ByteBuffer[] map(FileChannel channel, int size, ByteOrder order) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>(); long segment = (long) (SEGMENT / size) * size;
+        for (long position = 0L, length = channel.size(); position < length; position += segment)
+            segments.add(channel.map(READ_ONLY, position, min(segment, length - position)).order(order));
+        return segments.toArray(new ByteBuffer[0]);
+    }
+
+
+    /**
+     * Return a {@link Traversable} that emits the records of the given size of the remaining
+     * bytes of the given {@link ByteBuffer} as a reusable {@link View}.
+     *
+     * @param buffer the given {@link ByteBuffer}
+     * @param size the given record size
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that emits the records of the given {@link ByteBuffer} as a reusable {@link View}
+     * @throws NullPointerException if the given {@link ByteBuffer} is {@code null}
+     * @throws IllegalArgumentException if the given record size is not positive
+     */
+    public static <E extends Exception> Traversable<View, E> records(ByteBuffer buffer, int size) {
+        ByteBuffer[] segments = {buffer.slice().order(buffer.order())};
+        return new RecordTraversable<>(() -> segments, size, 0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Return a {@link Traversable} that emits the big-endian records of the given size of the
+     * given {@link FileChannel}, mapped on each traversal, as a reusable {@link View}.
+     *
+     * @param channel the given {@link FileChannel}
+     * @param size the given record size
+     * @return a {@link Traversable} that emits the records of the given {@link FileChannel} as a reusable {@link View}
+     * @throws NullPointerException if the given {@link FileChannel} is {@code null}
+     * @throws IllegalArgumentException if the given record size is not positive or exceeds the mapped segment size
+     */
+    public static Traversable<View, IOException> records(FileChannel channel, int size) {
+        return records(channel, size, BIG_ENDIAN);
+    }
+
+    /**
+     * Return a {@link Traversable} that emits the records of the given size and {@link ByteOrder} of the
+     * given {@link FileChannel}, mapped on each traversal, as a reusable {@link View}.
+     *
+     * @param channel the given {@link FileChannel}
+     * @param size the given record size
+     * @param order the given {@link ByteOrder}
+     * @return a {@link Traversable} that emits the records of the given {@link FileChannel} as a reusable {@link View}
+     * @throws NullPointerException if the given {@link FileChannel} or {@link ByteOrder} is {@code null}
+     * @throws IllegalArgumentException if the given record size is not positive or exceeds the mapped segment size
+     */
+    public static Traversable<View, IOException> records(FileChannel channel, int size, ByteOrder order) {
+        requireNonNull(channel); requireNonNull(order);
+        if (size > SEGMENT)
+            throw new IllegalArgumentException(format("Record size exceeds the segment size: %d.", size));
+        return new RecordTraversable<>(() -> map(channel, size, order), size, 0L, Long.MAX_VALUE);
+    }
+}
@@ -3,11 +3,11 @@ package org.moodminds.traverse;
 import org.moodminds.elemental.Association;
 
 import java.util.stream.Collector;
-import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
-import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.traverse.Traversable.reduce;
+import static org.moodminds.traverse.TraversePlan.Kind.MATERIALIZING;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * An implementation of the {@link Traversable} interface that resolves
@@ -17,7 +17,7 @@ import static org.moodminds.traverse.Traversable.reduce;
  * @param <E> the type of traversal exception
  * @param <R> the type of the resolution result
  */
-public class ResolveTraversable<V, E extends Exception, R> extends StreamTraversable<R, E> {
+public class ResolveTraversable<V, E extends Exception, R> extends ScalarTraversable<R, E> {
 
     /**
      * The {@link TraverseSupport} source holder field.
@@ -42,11 +42,13 @@ public class ResolveTraversable<V, E extends Exception, R> extends StreamTravers
     }
 
     @Override
-    protected Stream<R> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
-        return Stream.of(traversable).map(traversable -> {
-            try { return resolver.resolve(method, traversable, ctx); }
-            catch (Exception ex) { return sneak(ex); }
-        });
+    protected R value(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        return resolver.resolve(method, traversable, ctx);
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, MATERIALIZING, resolver.memory(), traversable);
     }
 
     /**
@@ -0,0 +1,21 @@
+package org.moodminds.traverse;
+
+/**
+ * A {@link Traversable} source able to continue its sequential traversal from a known position,
+ * without re-producing the items already traversed.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public interface Resumable<V, E extends Exception> extends Traversable<V, E> {
+
+    /**
+     * Return a {@link Traversable} continuing the sequential traversal of this source right after
+     * the given number of already traversed items, the last of which is the given value.
+     *
+     * @param position the given positive number of already traversed items
+     * @param value the given last traversed item value
+     * @return a {@link Traversable} continuing the sequential traversal of this source
+     */
+    Traversable<V, E> resume(long position, V value);
+}
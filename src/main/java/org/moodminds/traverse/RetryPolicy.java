@@ -0,0 +1,284 @@
+package org.moodminds.traverse;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+import static org.moodminds.traverse.TraverseTime.nanos;
+import static org.moodminds.traverse.TraverseTime.park;
+
+/**
+ * An immutable policy of retrying the traversal on a caught exception, defining
+ * the number of retries, the exponential backoff with jitter between them,
+ * the caught exception predicate and the shared retry {@link Budget}.
+ * <p>
+ * The backoff waits park the traversing thread until the deadline, so no CPU is spent on waiting.
+ * An interruption during the wait cancels the retry, keeping the thread interrupted.
+ */
+public class RetryPolicy {
+
+    /**
+     * The maximum number of retries holder field.
+     */
+    private final long retries;
+
+    /**
+     * The first backoff delay in nanoseconds holder field.
+     */
+    private final long delay;
+
+    /**
+     * The backoff delay multiplier holder field.
+     */
+    private final double multiplier;
+
+    /**
+     * The maximum backoff delay in nanoseconds holder field.
+     */
+    private final long maxDelay;
+
+    /**
+     * The backoff delay jitter fraction holder field.
+     */
+    private final double jitter;
+
+    /**
+     * The caught exception {@link Predicate} holder field.
+     */
+    private final Predicate<? super Throwable> predicate;
+
+    /**
+     * The shared retry {@link Budget} holder field, {@code null} if unlimited.
+     */
+    private final Budget budget;
+
+    /**
+     * Construct the object with the given retry parameters.
+     *
+     * @param retries the given maximum number of retries
+     * @param delay the given first backoff delay in nanoseconds
+     * @param multiplier the given backoff delay multiplier
+     * @param maxDelay the given maximum backoff delay in nanoseconds
+     * @param jitter the given backoff delay jitter fraction
+     * @param predicate the given caught exception {@link Predicate}
+     * @param budget the given shared retry {@link Budget}, {@code null} if unlimited
+     */
+    protected RetryPolicy(long retries, long delay, double multiplier, long maxDelay, double jitter,
+                          Predicate<? super Throwable> predicate, Budget budget) {
+        this.retries = retries; this.delay = delay; this.multiplier = multiplier; this.maxDelay = maxDelay;
+        this.jitter = jitter; this.predicate = predicate; this.budget = budget;
+    }
+
+    /**
+     * Return a copy of this policy, waiting the given fixed delay before each retry.
+     *
+     * @param delay the given fixed delay
+     * @return a copy of this policy, waiting the given fixed delay before each retry
+     * @throws NullPointerException if the given delay is {@code null}
+     * @throws IllegalArgumentException if the given delay is negative
+     */
+    public RetryPolicy backoff(Duration delay) {
+        return backoff(delay, 1.0, delay);
+    }
+
+    /**
+     * Return a copy of this policy, waiting the exponentially growing delay before each retry,
+     * starting with the given delay, multiplied by the given multiplier and limited by the given maximum.
+     *
+     * @param delay the given first delay
+     * @param multiplier the given delay multiplier
+     * @param maxDelay the given maximum delay
+     * @return a copy of this policy, waiting the exponentially growing delay before each retry
+     * @throws NullPointerException if any of the given delays is {@code null}
+     * @throws IllegalArgumentException if any of the given delays is negative or the multiplier is less than 1
+     */
+    public RetryPolicy backoff(Duration delay, double multiplier, Duration maxDelay) {
+        if (delay.isNegative() || maxDelay.isNegative())
+            throw new IllegalArgumentException(format("Negative delay: %s, %s.", delay, maxDelay));
+        if (!(multiplier >= 1.0))
+            throw new IllegalArgumentException(format("Delay multiplier less than 1: %s.", multiplier));
+        return new RetryPolicy(retries, nanos(delay), multiplier, nanos(maxDelay), jitter, predicate, budget);
+    }
+
+    /**
+     * Return a copy of this policy, randomly reducing each delay by up to the given fraction of it.
+     *
+     * @param jitter the given jitter fraction, from 0 to 1
+     * @return a copy of this policy, randomly reducing each delay by up to the given fraction of it
+     * @throws IllegalArgumentException if the given jitter fraction is not within 0 to 1
+     */
+    public RetryPolicy jitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0))
+            throw new IllegalArgumentException(format("Jitter fraction out of [0, 1]: %s.", jitter));
+        return new RetryPolicy(retries, delay, multiplier, maxDelay, jitter, predicate, budget);
+    }
+
+    /**
+     * Return a copy of this policy, retrying only on the caught exceptions matching the given {@link Predicate}.
+     *
+     * @param predicate the given caught exception {@link Predicate}
+     * @return a copy of this policy, retrying only on the caught exceptions matching the given {@link Predicate}
+     * @throws NullPointerException if the given {@link Predicate} is {@code null}
+     */
+    public RetryPolicy when(Predicate<? super Throwable> predicate) {
+        return new RetryPolicy(retries, delay, multiplier, maxDelay, jitter, requireNonNull(predicate), budget);
+    }
+
+    /**
+     * Return a copy of this policy, retrying only on the caught exceptions of the given type.
+     *
+     * @param type the given exception type
+     * @return a copy of this policy, retrying only on the caught exceptions of the given type
+     * @throws NullPointerException if the given exception type is {@code null}
+     */
+    public RetryPolicy on(Class<? extends Throwable> type) {
+        return when(requireNonNull(type)::isInstance);
+    }
+
+    /**
+     * Return a copy of this policy, retrying only while the given shared {@link Budget} has permits.
+     *
+     * @param budget the given shared retry {@link Budget}
+     * @return a copy of this policy, retrying only while the given shared {@link Budget} has permits
+     * @throws NullPointerException if the given {@link Budget} is {@code null}
+     */
+    public RetryPolicy budget(Budget budget) {
+        return new RetryPolicy(retries, delay, multiplier, maxDelay, jitter, predicate, requireNonNull(budget));
+    }
+
+    /**
+     * Decide whether to retry on the given caught exception of the given retry attempt,
+     * waiting the backoff delay before the positive decision.
+     *
+     * @param caught the given caught exception
+     * @param attempt the given retry attempt number, starting from 1
+     * @return {@code true} if the traversal should be retried
+     */
+    boolean retry(Throwable caught, long attempt) {
+        if (attempt > retries || !predicate.test(caught) || budget != null && !budget.acquire())
+            return false;
+        return park(nanoTime() + delay(attempt));
+    }
+
+    /**
+     * Return the backoff delay in nanoseconds before the given retry attempt.
+     *
+     * @param attempt the given retry attempt number, starting from 1
+     * @return the backoff delay in nanoseconds before the given retry attempt
+     */
+    private long delay(long attempt) {
+        if (delay == 0L)
+            return 0L;
+        double delay = min(this.delay * pow(multiplier, min(attempt - 1, 1024)), maxDelay);
+        return (long) (jitter == 0.0 ? delay : delay - delay * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+
+
+
+    /**
+     * A lock-free token bucket of retry permits, shared across traversals to limit the overall retry rate,
+     * implemented as the generic cell rate algorithm over a single theoretical arrival time.
+     */
+    public static class Budget {
+
+        /**
+         * The permit emission interval in nanoseconds holder field.
+         */
+        private final long interval;
+
+        /**
+         * The bucket tolerance (burst) in nanoseconds holder field.
+         */
+        private final long tolerance;
+
+        /**
+         * The theoretical arrival time of the next permit holder field.
+         */
+        private final AtomicLong arrival;
+
+        /**
+         * Construct the object with the given bucket capacity and permits refill rate.
+         *
+         * @param capacity the given bucket capacity
+         * @param permitsPerSecond the given permits refill rate per second
+         * @throws IllegalArgumentException if the capacity or the refill rate is not positive
+         */
+        protected Budget(long capacity, double permitsPerSecond) {
+            if (capacity <= 0L)
+                throw new IllegalArgumentException(format("Not positive capacity: %d.", capacity));
+            if (!(permitsPerSecond > 0.0))
+                throw new IllegalArgumentException(format("Not positive permits rate: %s.", permitsPerSecond));
+            this.interval = max(1L, (long) (1_000_000_000.0 / permitsPerSecond));
+            this.tolerance = capacity > Long.MAX_VALUE / interval ? Long.MAX_VALUE / 2 : (capacity - 1) * interval;
+            this.arrival = new AtomicLong(nanoTime());
+        }
+
+        /**
+         * Try to acquire a retry permit without waiting.
+         *
+         * @return {@code true} if the permit is acquired
+         */
+        public boolean acquire() {
+            return reserve(false) != Long.MIN_VALUE;
+        }
+
+        /**
+         * Reserve a permit, failing if it is not available at once, unless the given waiting flag is set.
+         *
+         * @param wait the given waiting flag, reserving the permit ahead of the time if set
+         * @return the {@link System#nanoTime()} time the reserved permit is available at,
+         * or {@link Long#MIN_VALUE} if not reserved
+         */
+        long reserve(boolean wait) {
+            for (long now = nanoTime(), arrival = this.arrival.get(), next;; arrival = this.arrival.get()) {
+                next = arrival - now < 0L ? now : arrival;
+                if (!wait && next - now > tolerance)
+                    return Long.MIN_VALUE;
+                if (this.arrival.compareAndSet(arrival, next + interval))
+                    return next - tolerance;
+            }
+        }
+    }
+
+
+    /**
+     * Return a {@link RetryPolicy} retrying infinitely without delays.
+     *
+     * @return a {@link RetryPolicy} retrying infinitely without delays
+     */
+    public static RetryPolicy retries() {
+        return retries(Long.MAX_VALUE);
+    }
+
+    /**
+     * Return a {@link RetryPolicy} retrying the given number of times without delays.
+     *
+     * @param retries the given number of retries
+     * @return a {@link RetryPolicy} retrying the given number of times without delays
+     * @throws IllegalArgumentException if the given number of retries is negative
+     */
+    public static RetryPolicy retries(long retries) {
+        if (retries < 0L)
+            throw new IllegalArgumentException(format("Negative retry number: %d.", retries));
+        return new RetryPolicy(retries, 0L, 1.0, 0L, 0.0, caught -> true, null);
+    }
+
+    /**
+     * Return a shared retry {@link Budget} of the given capacity, refilled at the given rate.
+     *
+     * @param capacity the given budget capacity
+     * @param permitsPerSecond the given permits refill rate per second
+     * @return a shared retry {@link Budget} of the given capacity, refilled at the given rate
+     * @throws IllegalArgumentException if the capacity or the refill rate is not positive
+     */
+    public static Budget budget(long capacity, double permitsPerSecond) {
+        return new Budget(capacity, permitsPerSecond);
+    }
+}
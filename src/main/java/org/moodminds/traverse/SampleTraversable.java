@@ -0,0 +1,264 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.Executable1Throwing1;
+import org.moodminds.function.Testable1Throwing1;
+import org.moodminds.sneaky.Cast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.log1p;
+import static java.lang.Math.log;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.STATELESS;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
+
+/**
+ * Represents a {@link Traversable} implementation that retains a random sample of items of a source,
+ * each item being retained independently with the specified probability (Bernoulli sampling).
+ * <p>
+ * Each split of the traversal has its own pseudo-random generator, and instead of testing every item,
+ * it draws the geometrically distributed number of items to skip before the next retained one.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public class SampleTraversable<V, E extends Exception> implements Traversable<V, E> {
+
+    /**
+     * The source {@link TraverseSupport} holder field.
+     */
+    private final TraverseSupport<? extends V, ? extends E> traversable;
+
+    /**
+     * The item retaining probability holder field.
+     */
+    private final double fraction;
+
+    /**
+     * Construct the object with the given source {@link TraverseSupport} and item retaining probability.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param fraction the given item retaining probability, from 0 to 1
+     * @throws NullPointerException if the source {@link TraverseSupport} is {@code null}
+     * @throws IllegalArgumentException if the given probability is not within 0 to 1
+     */
+    protected SampleTraversable(TraverseSupport<? extends V, ? extends E> traversable, double fraction) {
+        if (!(fraction >= 0.0 && fraction <= 1.0))
+            throw new IllegalArgumentException(format("Sample fraction out of [0, 1]: %s.", fraction));
+        this.traversable = requireNonNull(traversable); this.fraction = fraction;
+    }
+
+    @Override
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new Traverser<>() {
+
+            final SplittableRandom random = new SplittableRandom(current().nextLong());
+
+            final Testable1Throwing1<V, Exception> admit = this::admit, test = this::test;
+            final Executable1Throwing1<V, Exception> accept = this::accept;
+
+            Executable1Throwing1<? super V, ?> consumer; Testable1Throwing1<? super V, ?> predicate;
+
+            long skip = skip();
+
+            @Override public <X extends Exception> boolean next(Executable1Throwing1<? super V, ? extends X> consumer) throws E, X {
+                this.consumer = requireNonNull(consumer); try {
+                    return traverser.<Exception>some(admit);
+                } catch (Exception ex) { return sneak(ex); } }
+
+            @Override public <X extends Exception> boolean some(Testable1Throwing1<? super V, ? extends X> consumer) throws E, X {
+                this.predicate = requireNonNull(consumer); try {
+                    return traverser.<Exception>some(test);
+                } catch (Exception ex) { return sneak(ex); } }
+
+            @Override public <X extends Exception> void each(Executable1Throwing1<? super V, ? extends X> consumer) throws E, X {
+                this.consumer = requireNonNull(consumer); try {
+                    traverser.<Exception>each(accept);
+                } catch (Exception ex) { sneak(ex); } }
+
+            private boolean admit(V value) throws Exception {
+                if (!sampled()) return true;
+                consumer.exec(value); return false;
+            }
+
+            private boolean test(V value) throws Exception {
+                return !sampled() || predicate.test(value);
+            }
+
+            private void accept(V value) throws Exception {
+                if (sampled()) consumer.exec(value);
+            }
+
+            private boolean sampled() {
+                if (skip-- != 0L) return false;
+                skip = skip(); return true;
+            }
+
+            private long skip() {
+                return fraction == 1.0 ? 0L : fraction == 0.0 ? -1L
+                        : (long) (log(1.0 - random.nextDouble()) / log1p(-fraction));
+            }
+
+        }), ctx);
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATELESS, CONSTANT, traversable);
+    }
+
+
+    /**
+     * A fixed-size uniform random sample of the accumulated items, drawn by the Algorithm L
+     * reservoir sampling, which takes a logarithmic number of random draws in the number of items.
+     * The reservoirs of the parallel splits are merged into the sample of their union.
+     *
+     * @param <V> the type of item values
+     */
+    static class Reservoir<V> {
+
+        /**
+         * The sample size holder field.
+         */
+        private final int size;
+
+        /**
+         * The sampled items holder field.
+         */
+        private final Object[] items;
+
+        /**
+         * The pseudo-random generator holder field.
+         */
+        private final SplittableRandom random = new SplittableRandom(current().nextLong());
+
+        /**
+         * The number of accumulated items holder field.
+         */
+        private long count;
+
+        /**
+         * The index of the next item to replace a sampled one holder field.
+         */
+        private long next;
+
+        /**
+         * The Algorithm L largest key weight holder field.
+         */
+        private double weight;
+
+        /**
+         * Construct the object with the given sample size.
+         *
+         * @param size the given sample size
+         */
+        Reservoir(int size) {
+            this.size = size; this.items = new Object[size];
+        }
+
+        /**
+         * Accumulate the given item value.
+         *
+         * @param value the given item value
+         */
+        void add(V value) {
+            if (count < size) {
+                items[(int) count] = value;
+                if (++count == size) {
+                    weight = exp(log(random.nextDouble()) / size); next = count + gap();
+                }
+            } else if (count++ == next && size != 0) {
+                items[random.nextInt(size)] = value;
+                weight *= exp(log(random.nextDouble()) / size); next = count + gap();
+            }
+        }
+
+        /**
+         * Merge the given reservoir into this one, drawing the sample of the union of their items.
+         * This reservoir is not meant to accumulate items after the merge.
+         *
+         * @param reservoir the given reservoir
+         * @return this reservoir
+         */
+        Reservoir<V> merge(Reservoir<V> reservoir) {
+            int thisSize = (int) min(count, size), thatSize = (int) min(reservoir.count, size);
+            Object[] these = copy(items, thisSize), those = copy(reservoir.items, thatSize);
+            long thisCount = count, thatCount = reservoir.count; int thisTaken = 0, thatTaken = 0;
+            for (int taken = 0, n = min(size, thisSize + thatSize); taken < n; taken++)
+                if (random.nextDouble() * (thisCount + thatCount) < thisCount) {
+                    items[taken] = pick(these, thisSize, thisTaken++); thisCount--;
+                } else { items[taken] = pick(those, thatSize, thatTaken++); thatCount--; }
+            count += reservoir.count; return this;
+        }
+
+        /**
+         * Return the sampled items.
+         *
+         * @return the sampled items
+         */
+        List<V> sample() {
+            return new ArrayList<>(Cast.<List<V>>cast(asList(items).subList(0, (int) min(count, size))));
+        }
+
+        /**
+         * Return the number of items to skip before the next replacing one.
+         *
+         * @return the number of items to skip before the next replacing one
+         */
+        private long gap() {
+            return (long) (log(random.nextDouble()) / log1p(-weight));
+        }
+
+        /**
+         * Pick a random item out of the not yet taken ones, moving it to the taken positions.
+         *
+         * @param items the given items
+         * @param size the given number of items
+         * @param taken the given number of taken items
+         * @return the picked item
+         */
+        private Object pick(Object[] items, int size, int taken) {
+            int index = taken + random.nextInt(size - taken); Object item = items[index];
+            items[index] = items[taken]; items[taken] = item; return item;
+        }
+
+        /**
+         * Return a copy of the given number of the leading items.
+         *
+         * @param items the given items
+         * @param size the given number of items
+         * @return a copy of the given number of the leading items
+         */
+        private static Object[] copy(Object[] items, int size) {
+            return copyOf(items, size);
+        }
+    }
+
+
+    /**
+     * Return a {@link Traversable} that retains each item of the given {@link TraverseSupport} source
+     * independently with the given probability.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param fraction the given item retaining probability, from 0 to 1
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that retains each item of the given source with the given probability
+     * @throws NullPointerException if the source {@link TraverseSupport} is {@code null}
+     * @throws IllegalArgumentException if the given probability is not within 0 to 1
+     */
+    public static <V, E extends Exception> Traversable<V, E> sample(TraverseSupport<? extends V, ? extends E> traversable, double fraction) {
+        return new SampleTraversable<>(traversable, fraction);
+    }
+}
@@ -0,0 +1,64 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.Executable1Throwing1;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A template implementation of the {@link Traversable} interface that emits a single item,
+ * passing a one-shot {@link Traverser} directly to the {@link Traverse} function.
+ * <p>
+ * The item value is evaluated lazily, once the {@link Traverser} is pulled.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public abstract class ScalarTraversable<V, E extends Exception> implements Traversable<V, E>, DirectTraversable {
+
+    /**
+     * Construct the object.
+     */
+    protected ScalarTraversable() {}
+
+    @Override
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        return traverse.complete(new AbstractTraverser<V, E>() {
+
+            boolean emitted = false;
+
+            @Override
+            public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                requireNonNull(consumer); if (emitted) return false; emitted = true;
+                consumer.exec(value(method, ctx)); return true;
+            }
+        });
+    }
+
+    /**
+     * Evaluate the single item value with the given {@link Association} context
+     * using the specified {@link TraverseMethod} traverse method.
+     *
+     * @param method the specified {@link TraverseMethod} traverse method
+     * @param ctx the given {@link Association} context
+     * @return the single item value
+     * @throws E in case of the evaluation error
+     */
+    protected abstract V value(TraverseMethod method, Association<?, ?, ?> ctx) throws E;
+
+
+    /**
+     * Return a {@link Traversable} implementation that emits the given single item value.
+     *
+     * @param value the given single item value
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} implementation that emits the given single item value
+     */
+    public static <V, E extends Exception> Traversable<V, E> scalar(V value) {
+        return new ScalarTraversable<>() {
+            @Override protected V value(TraverseMethod method, Association<?, ?, ?> ctx) {
+                return value; }
+        };
+    }
+}
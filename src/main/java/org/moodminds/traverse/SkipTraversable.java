@@ -6,6 +6,9 @@ import org.moodminds.valuable.Valuable.Long;
 
 import static java.lang.String.format;
 import static org.moodminds.function.Testable1Throwing1.anyway;
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.TraversePlan.Kind.STATEFUL;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
 import static org.moodminds.valuable.Variable.var;
 import static org.moodminds.valuable.Volatile.vol;
 
@@ -53,6 +56,25 @@ public class SkipTraversable<V, E extends Exception> extends FilterTraversable<V
         return value -> skip.get().test(value);
     }
 
+    @Override
+    public TraversePlan describe() {
+        return super.describe().as(STATEFUL, CONSTANT);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != SkipTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(source());
+        if (source.getClass() == SkipTraversable.class) {
+            SkipTraversable<? extends V, ? extends E> inner = cast(source); long number = this.number + inner.number;
+            return new SkipTraversable<>(inner.source(), number < 0L ? java.lang.Long.MAX_VALUE : number);
+        }
+        if (source.getClass() == RecordTraversable.class) {
+            RecordTraversable<? extends E> records = cast(source); return cast(records.slice(number, java.lang.Long.MAX_VALUE));
+        }
+        return source != source() ? new SkipTraversable<>(source, number) : this;
+    }
+
 
     /**
      * Return a {@link Traversable} implementation that skips items until reaching the specified count of items.
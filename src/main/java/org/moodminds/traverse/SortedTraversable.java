@@ -1,14 +1,20 @@
 package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
+import org.moodminds.sneaky.Cast;
+import org.moodminds.traverse.TraversePool.Items;
 
 import java.util.Comparator;
-import java.util.List;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collector.Characteristics.IDENTITY_FINISH;
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.TraversePlan.Kind.MATERIALIZING;
+import static org.moodminds.traverse.TraversePlan.Memory.LINEAR;
+import static org.moodminds.traverse.TraversePlan.plan;
 
 /**
  * An implementation of the {@link Traversable} interface that gathers and arranges items from
@@ -29,6 +35,11 @@ public class SortedTraversable<V, E extends Exception> extends StreamTraversable
      */
     private final Comparator<? super V> comparator;
 
+    /**
+     * The dropping of the duplicate items flag holder field.
+     */
+    private final boolean distinct;
+
     /**
      * Construct the object with the given {@link TraverseSupport}
      * source and {@link Comparator} comparator.
@@ -39,14 +50,73 @@ public class SortedTraversable<V, E extends Exception> extends StreamTraversable
      * or {@link Comparator} comparator is {@code null}
      */
     protected SortedTraversable(TraverseSupport<? extends V, ? extends E> traversable, Comparator<? super V> comparator) {
-        this.traversable = requireNonNull(traversable); this.comparator = requireNonNull(comparator);
+        this(traversable, comparator, false);
+    }
+
+    /**
+     * Construct the object with the given {@link TraverseSupport} source, {@link Comparator} comparator
+     * and the dropping of the duplicate items flag.
+     *
+     * @param traversable the given {@link TraverseSupport} source
+     * @param comparator the given {@link Comparator} comparator
+     * @param distinct the given dropping of the duplicate items flag
+     * @throws NullPointerException if the given {@link TraverseSupport} source
+     * or {@link Comparator} comparator is {@code null}
+     */
+    private SortedTraversable(TraverseSupport<? extends V, ? extends E> traversable, Comparator<? super V> comparator, boolean distinct) {
+        this.traversable = requireNonNull(traversable); this.comparator = requireNonNull(comparator); this.distinct = distinct;
     }
 
     @Override
     protected Stream<V> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
-        List<V> collection = Traversable.<V, E, List<V>, E>reduce(toList())
-                .resolve(method, traversable, ctx);
-        collection.sort(comparator); return collection.stream();
+        TraverseEvents.SortEvent event = TraverseEvents.sort(); TraversePool pool = TraversePool.pool(ctx);
+        Items<V> items = Traversable.<V, E, Items<V>, E>reduce(Collector.<V, Items<V>>of(() -> new Items<>(pool),
+                Items::add, Items::merge, IDENTITY_FINISH)).resolve(method, traversable, ctx);
+        items.sort(comparator); if (distinct) items.distinct();
+        if (event != null) event.complete(items.size());
+        return items.stream();
+    }
+
+    /**
+     * Return the number of items by the source for the given {@link TraverseMethod traverse method}
+     * and {@link Association} context, as the sorting preserves it, or by the sorted items if distinct.
+     *
+     * @param method the given {@link TraverseMethod traverse method}
+     * @param ctx    the given {@link Association} context
+     * @return the number of items
+     * @throws E in case of the traversal error
+     */
+    @Override
+    long count(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        return distinct || getClass() != SortedTraversable.class ? super.count(method, ctx)
+                : Traversable.<V, E, E>count().resolve(method, traversable, ctx);
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, MATERIALIZING, LINEAR, traversable);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != SortedTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(traversable);
+        if (source.getClass() == SortedTraversable.class && !((SortedTraversable<?, ?>) source).distinct) {
+            SortedTraversable<V, E> inner = cast(source);
+            return new SortedTraversable<>(inner.traversable, comparator.equals(inner.comparator) ? comparator
+                    : Cast.<Comparator<V>>cast(comparator).thenComparing(inner.comparator), distinct);
+        }
+        return source != traversable ? new SortedTraversable<>(source, comparator, distinct) : this;
+    }
+
+    /**
+     * Return a {@link SortedTraversable} of the same source and {@link Comparator} comparator, dropping
+     * the duplicate items after sorting, as the {@link UniqueTraversable} of this one would.
+     *
+     * @return a {@link SortedTraversable} of the same source and comparator, dropping the duplicate items
+     */
+    Traversable<V, E> distinct() {
+        return distinct ? this : new SortedTraversable<>(traversable, comparator, true);
     }
 
     /**
@@ -1,27 +1,26 @@
 package org.moodminds.traverse;
 
 import org.moodminds.elemental.Association;
+import org.moodminds.function.Evaluable1Throwing1;
 import org.moodminds.function.EvaluableThrowing1;
-import org.moodminds.function.Executable1;
 import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Executable1Throwing2;
 import org.moodminds.valuable.Variable;
-import org.moodminds.valuable.Volatile;
 
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.BaseStream;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static java.util.Collections.synchronizedSet;
+import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.ORDERED;
 import static org.moodminds.function.Executable1.idle;
 import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.valuable.Variable.var;
-import static org.moodminds.valuable.Volatile.vol;
 
 /**
  * Represents a {@link Traversable} implementation backed by a {@link BaseStream stream} of values.
@@ -33,6 +32,11 @@ import static org.moodminds.valuable.Volatile.vol;
  */
 public abstract class StreamTraversable<V, E extends Exception> implements Traversable<V, E> {
 
+    /**
+     * The parallel traversal breached or completed state marker holder field.
+     */
+    private static final Object BREACH = new Object();
+
     /**
      * Construct the object.
      */
@@ -40,31 +44,61 @@ public abstract class StreamTraversable<V, E extends Exception> implements Trave
 
     @Override
     public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
-
-        Set<Throwable> thrown = null;
-
+        TraverseEvents.StreamEvent event = TraverseEvents.stream(method);
         try (BaseStream<V, ?> stream = method.isSequence() ? stream(method, ctx).sequential()
                 : method.isParallel() ? stream(method, ctx).parallel() : stream(method, ctx)) {
+            Spliterator<V> spliterator = event == null ? stream.spliterator() : event.counting(stream.spliterator());
+            return stream.isParallel() ? parallel(spliterator, traverse)
+                    : sequence(spliterator, traverse);
+        } finally { if (event != null) event.complete(); }
+    }
 
-            thrown = stream.isParallel() ? synchronizedSet(new HashSet<>()) : new HashSet<>();
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The stream is supplied and its {@link Spliterator} bound on the {@link Stream} terminal operation start,
+     * so the supplying errors are raised by the terminal operation. The returned {@link Stream} is parallel
+     * for the {@link TraverseMethod#PARALLEL parallel} method only, as the parallelism of the supplied stream
+     * is not known before, and it is closed along with the supplied stream.
+     *
+     * @param method {@inheritDoc}
+     * @param ctx    {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<V> toStream(TraverseMethod method, Association<?, ?, ?> ctx) {
+        requireNonNull(method); requireNonNull(ctx); Variable<BaseStream<V, ?>> source = var();
+        return StreamSupport.stream(() -> {
+            try { return (source.val = stream(method, ctx)).spliterator(); }
+            catch (Exception ex) { return sneak(ex); }
+        }, ORDERED, method.isParallel()).onClose(() -> { if (source.val != null) source.val.close(); });
+    }
 
-            return stream.isParallel() ? parallel(stream.spliterator(), traverse, thrown::add)
-                    : sequence(stream.spliterator(), traverse, thrown::add);
+    protected abstract BaseStream<V, ?> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E;
 
-        } catch (Throwable caught) {
-            Throwable cause = caught.getCause(); return sneak(thrown != null
-                    && thrown.contains(cause) ? cause : caught);
+    /**
+     * Return the number of items of the stream supplied for the given {@link TraverseMethod traverse method}
+     * and {@link Association} context, by its exact size if the stream is {@link Spliterator#SIZED sized},
+     * or otherwise by counting its items through the stream itself.
+     *
+     * @param method the given {@link TraverseMethod traverse method}
+     * @param ctx    the given {@link Association} context
+     * @return the number of items of the stream
+     * @throws E in case of the stream supplying error
+     */
+    long count(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+        try (BaseStream<V, ?> stream = stream(method, ctx)) {
+            Spliterator<V> spliterator = stream.spliterator(); long size = spliterator.getExactSizeIfKnown();
+            return size >= 0L ? size : StreamSupport.stream(spliterator, !method.isSequence()
+                    && (method.isParallel() || stream.isParallel())).count();
         }
     }
 
-    protected abstract BaseStream<V, ?> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E;
-
-    private <H1 extends Exception, H2 extends Exception> boolean sequence(Spliterator<V> spliterator, Traverse<V, E, ? extends H1, ? extends H2> traverse,
-                                                                          Executable1<? super Throwable> thrown) throws H1, H2 {
+    private <H1 extends Exception, H2 extends Exception> boolean sequence(Spliterator<V> spliterator, Traverse<V, E, ? extends H1, ? extends H2> traverse) throws H1, H2 {
 
         Variable.Boolean traversed = var(false);
 
-        traverse(spliterator(spliterator, split -> traversed.flg = traversed.flg || !traverse.complete(new Traverser<>() {
+        traverse(spliterator(spliterator, split -> traversed.flg = traversed.flg || !traverse.complete(new AbstractTraverser<>() {
 
             @Override
             public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
@@ -80,30 +114,37 @@ public abstract class StreamTraversable<V, E extends Exception> implements Trave
                 } catch (Throwable ex) { traversed.flg = true; sneak(ex); }
             }
 
-        }), thrown), false);
+        })), false);
 
         return !traversed.set(true);
     }
 
-    private <H1 extends Exception, H2 extends Exception> boolean parallel(Spliterator<V> spliterator, Traverse<V, E, ? extends H1, ? extends H2> traverse,
-                                                                          Executable1<? super Throwable> thrown) throws H1, H2 {
+    private <H1 extends Exception, H2 extends Exception> boolean parallel(Spliterator<V> spliterator, Traverse<V, E, ? extends H1, ? extends H2> traverse) throws H1, H2 {
 
-        Volatile.Boolean traversed = vol(false);
+        // null while traversing, BREACH once breached or completed, or the first thrown exception
+        AtomicReference<Object> state = new AtomicReference<>();
 
-        traverse(spliterator(spliterator, split -> {
-            if (!traversed.flg && !traverse.complete(new Traverser<>() {
+        try {
+            traverse(spliterator(spliterator, split -> {
+                try {
+                    if (state.get() == null && !traverse.complete(new AbstractTraverser<>() {
 
-                @Override
-                public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                    requireNonNull(consumer); try {
-                        return !traversed.flg && split.tryAdvance(consumer(consumer));
-                    } catch (Throwable ex) { return !traversed.set(true) ? sneak(ex) : false; }
-                }
+                        @Override
+                        public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                            requireNonNull(consumer); try {
+                                return state.get() == null && split.tryAdvance(consumer(consumer));
+                            } catch (Throwable ex) { return state.compareAndSet(null, ex) ? sneak(ex) : false; }
+                        }
 
-            })) traversed.flg = true;
-        }, thrown), true);
+                    })) state.compareAndSet(null, BREACH);
+                } catch (Throwable ex) { state.compareAndSet(null, ex); sneak(ex); }
+            }), true);
+        } catch (Throwable caught) {
+            // the fork-join framework may rethrow the split exception wrapped, so prefer the recorded one
+            Object failure = state.get(); return sneak(failure instanceof Throwable ? (Throwable) failure : caught);
+        }
 
-        return !traversed.set(true);
+        return state.getAndSet(BREACH) == null;
     }
 
     private void traverse(Spliterator<V> spliterator, boolean parallel) {
@@ -117,15 +158,14 @@ public abstract class StreamTraversable<V, E extends Exception> implements Trave
         };
     }
 
-    private <H1 extends Exception, H2 extends Exception> Spliterator<V> spliterator(Spliterator<V> spliterator, Executable1Throwing2<? super Spliterator<V>, ? extends H1, ? extends H2> traverse,
-                                                                                    Executable1<? super Throwable> thrown) {
+    private <H1 extends Exception, H2 extends Exception> Spliterator<V> spliterator(Spliterator<V> spliterator, Executable1Throwing2<? super Spliterator<V>, ? extends H1, ? extends H2> traverse) {
         return spliterator == null ? null : new Spliterator<V>() {
             @Override public boolean tryAdvance(Consumer<? super V> action) {
                 throw new Error("Unexpected 'tryAdvance' call."); }
             @Override public void forEachRemaining(Consumer<? super V> action) {
-                try { traverse.exec(spliterator); } catch (Exception ex) { thrown.exec(ex); sneak(ex); } }
+                try { traverse.exec(spliterator); } catch (Exception ex) { sneak(ex); } }
             @Override public Spliterator<V> trySplit() {
-                return spliterator(spliterator.trySplit(), traverse, thrown); }
+                return spliterator(spliterator.trySplit(), traverse); }
             @Override public long estimateSize() {
                 return spliterator.estimateSize(); }
             @Override public long getExactSizeIfKnown() {
@@ -139,6 +179,52 @@ public abstract class StreamTraversable<V, E extends Exception> implements Trave
         };
     }
 
+    /**
+     * A {@link Resumable} {@link StreamTraversable} backed by a {@link BaseStream stream} of values
+     * starting at the given offset, resumed by advancing the offset.
+     *
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     */
+    protected static class OffsetTraversable<V, E extends Exception> extends StreamTraversable<V, E> implements Resumable<V, E> {
+
+        /**
+         * The {@link Evaluable1Throwing1} supplier of {@link BaseStream stream} values by offset holder field.
+         */
+        private final Evaluable1Throwing1<? super Long, ? extends BaseStream<V, ?>, ? extends E> streamable;
+
+        /**
+         * The number of leading values to omit holder field.
+         */
+        private final long offset;
+
+        /**
+         * Construct the object with the given {@link Evaluable1Throwing1} supplier of {@link BaseStream stream}
+         * values by offset and the number of leading values to omit.
+         *
+         * @param streamable the given {@link Evaluable1Throwing1} supplier of {@link BaseStream stream} values by offset
+         * @param offset the given number of leading values to omit
+         * @throws NullPointerException if the given {@link Evaluable1Throwing1} supplier is {@code null}
+         * @throws IllegalArgumentException if the given offset is negative
+         */
+        protected OffsetTraversable(Evaluable1Throwing1<? super Long, ? extends BaseStream<V, ?>, ? extends E> streamable, long offset) {
+            this.streamable = requireNonNull(streamable);
+            if ((this.offset = offset) < 0L)
+                throw new IllegalArgumentException(format("Negative offset: %d.", offset));
+        }
+
+        @Override
+        protected BaseStream<V, ?> stream(TraverseMethod method, Association<?, ?, ?> ctx) throws E {
+            return streamable.eval(offset);
+        }
+
+        @Override
+        public Traversable<V, E> resume(long position, V value) {
+            return new OffsetTraversable<>(streamable, offset + position);
+        }
+    }
+
+
     /**
      * Return a {@link Traversable} that provides item values using the given
      * {@link EvaluableThrowing1} supplier of {@link BaseStream stream} values.
@@ -155,4 +241,22 @@ public abstract class StreamTraversable<V, E extends Exception> implements Trave
                 return streamable.eval(); }
         };
     }
+
+    /**
+     * Return a {@link Resumable} {@link Traversable} that provides item values using the given
+     * {@link Evaluable1Throwing1} supplier of {@link BaseStream stream} values, starting
+     * after the given number of leading values.
+     * <p>
+     * The supplier is expected to omit the leading values cheaply, e.g. by seeking a file
+     * or querying a database from an offset, so the traversal can be resumed from a position.
+     *
+     * @param streamable the given {@link Evaluable1Throwing1} supplier of {@link BaseStream stream} values by offset
+     * @param <V> the type of item value
+     * @param <E> the type of traversal exception
+     * @return a {@link Resumable} {@link Traversable} backed by a {@link BaseStream stream} of values
+     * @throws NullPointerException if the given {@link Evaluable1Throwing1} supplier is {@code null}
+     */
+    public static <V, E extends Exception> Resumable<V, E> stream(Evaluable1Throwing1<? super Long, ? extends BaseStream<V, ?>, ? extends E> streamable) {
+        return new OffsetTraversable<>(streamable, 0L);
+    }
 }
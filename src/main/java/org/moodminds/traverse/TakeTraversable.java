@@ -5,10 +5,10 @@ import org.moodminds.function.Executable1Throwing1;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.function.TestableThrowing1;
 import org.moodminds.valuable.Valuable;
-import org.moodminds.valuable.Variable.Boolean;
 
 import static java.util.Objects.requireNonNull;
 import static org.moodminds.function.TestableThrowing1.anyway;
+import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.valuable.Variable.var;
 import static org.moodminds.valuable.Volatile.vol;
 
@@ -61,24 +61,46 @@ public class TakeTraversable<V, E extends Exception> extends BreachTraversable<V
 
         return method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new Traverser<>() {
 
+            final Executable1Throwing1<V, Exception> accept = this::accept;
+            final Testable1Throwing1<V, Exception> test = this::test;
+
+            Executable1Throwing1<? super V, ?> consumer; Testable1Throwing1<? super V, ?> predicate; boolean fulfilled;
+
             @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                requireNonNull(consumer); Boolean fulfilled = var(false); return !taken.get() && traverser.<E, H>next(value -> {
-                    if (valuePredicate.test(value) || !taken.set(true) && inclusive) {
-                        fulfilled.flg = true; consumer.exec(value); }
-                }) && fulfilled.flg; }
+                requireNonNull(consumer); if (taken.get()) return false;
+                this.consumer = consumer; fulfilled = false; try {
+                    return traverser.<Exception>next(accept) && fulfilled;
+                } catch (Exception ex) { return sneak(ex); } }
 
             @Override public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
-                requireNonNull(consumer); Boolean fulfilled = var(false); return !taken.get() && traverser.<E, H>some(value -> {
-                    if (valuePredicate.test(value))
-                        return taken.get() ? (fulfilled.flg = false) : (fulfilled.flg = true) && consumer.test(value);
-                    if (!taken.set(true) && inclusive) {
-                        fulfilled.flg = !consumer.test(value); return false;
-                    } return fulfilled.flg = false;
-                }) && fulfilled.flg; }
+                requireNonNull(consumer); if (taken.get()) return false;
+                this.predicate = consumer; fulfilled = false; try {
+                    return traverser.<Exception>some(test) && fulfilled;
+                } catch (Exception ex) { return sneak(ex); } }
+
+            private void accept(V value) throws Exception {
+                if (valuePredicate.test(value) || !taken.set(true) && inclusive) {
+                    fulfilled = true; consumer.exec(value); }
+            }
+
+            private boolean test(V value) throws Exception {
+                if (valuePredicate.test(value))
+                    return taken.get() ? (fulfilled = false) : (fulfilled = true) && predicate.test(value);
+                if (!taken.set(true) && inclusive) {
+                    fulfilled = !predicate.test(value); return false;
+                } return fulfilled = false;
+            }
 
         }), ctx);
     }
 
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != TakeTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(source());
+        return source != source() ? new TakeTraversable<>(source, predicate, valuePredicate, inclusive) : this;
+    }
+
     /**
      * Return a {@link Traversable} implementation that emits items from
      * the given {@link TraverseSupport} source while matching the given predicate.
@@ -0,0 +1,163 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.Executable1Throwing1;
+import org.moodminds.traverse.RetryPolicy.Budget;
+import org.moodminds.valuable.Valuable;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.STATEFUL;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
+import static org.moodminds.traverse.TraverseTime.park;
+import static org.moodminds.valuable.Variable.var;
+import static org.moodminds.valuable.Volatile.vol;
+
+/**
+ * Represents a {@link Traversable} implementation that limits the rate of the items
+ * of a source by a lock-free token bucket, shared by all the traversals and parallel splits.
+ * <p>
+ * The {@link Overflow#DELAY} policy waits for a permit after pulling each item and before passing it on,
+ * so the source is pulled no faster than the limited rate and no permit is taken past its end, while
+ * the {@link Overflow#DROP} policy pulls the source at its own rate and drops the items exceeding the limited rate.
+ * An interruption while waiting for a permit stops the traversal, reporting it as not completed
+ * and keeping the thread interrupted.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public class ThrottleTraversable<V, E extends Exception> implements Traversable<V, E> {
+
+    /**
+     * The source {@link TraverseSupport} holder field.
+     */
+    private final TraverseSupport<? extends V, ? extends E> traversable;
+
+    /**
+     * The rate overflow {@link Overflow} policy holder field.
+     */
+    private final Overflow overflow;
+
+    /**
+     * The shared token bucket {@link Budget} of the permits holder field.
+     */
+    private final Budget budget;
+
+    /**
+     * Construct the object with the given source {@link TraverseSupport}, permits rate, burst and overflow policy.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param permitsPerSecond the given permits rate per second
+     * @param burst the given number of permits available at once
+     * @param overflow the given rate overflow {@link Overflow} policy
+     * @throws NullPointerException if the source {@link TraverseSupport} or overflow policy is {@code null}
+     * @throws IllegalArgumentException if the permits rate or burst is not positive
+     */
+    protected ThrottleTraversable(TraverseSupport<? extends V, ? extends E> traversable, double permitsPerSecond, long burst, Overflow overflow) {
+        if (!(permitsPerSecond > 0.0))
+            throw new IllegalArgumentException(format("Not positive permits rate: %s.", permitsPerSecond));
+        if (burst <= 0L)
+            throw new IllegalArgumentException(format("Not positive burst: %d.", burst));
+        this.traversable = requireNonNull(traversable); this.overflow = requireNonNull(overflow);
+        this.budget = new Budget(burst, permitsPerSecond);
+    }
+
+    @Override
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+        Valuable.Boolean interrupted = method.isSequence() ? var(false) : vol(false);
+
+        return method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(overflow == Overflow.DELAY ? new AbstractTraverser<V, E>() {
+
+            final Executable1Throwing1<V, Exception> accept = this::accept;
+
+            Executable1Throwing1<? super V, ?> consumer;
+
+            @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                requireNonNull(consumer); if (interrupted.get()) return false;
+                this.consumer = consumer; try {
+                    return traverser.<Exception>next(accept) && !interrupted.get();
+                } catch (Exception ex) { return sneak(ex); } }
+
+            private void accept(V value) throws Exception {
+                if (park(budget.reserve(true))) consumer.exec(value); else interrupted.set(true);
+            }
+
+        } : new AbstractTraverser<V, E>() {
+
+            final Executable1Throwing1<V, Exception> accept = this::accept;
+
+            Executable1Throwing1<? super V, ?> consumer; boolean fulfilled;
+
+            @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                requireNonNull(consumer); this.consumer = consumer; fulfilled = false; try {
+                    while (traverser.<Exception>next(accept))
+                        if (fulfilled) return true;
+                    return false;
+                } catch (Exception ex) { return sneak(ex); } }
+
+            private void accept(V value) throws Exception {
+                if (budget.acquire()) { fulfilled = true; consumer.exec(value); }
+            }
+
+        }), ctx) && !interrupted.get();
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, STATEFUL, CONSTANT, traversable);
+    }
+
+
+    /**
+     * The policy of the items exceeding the limited rate.
+     */
+    public enum Overflow {
+
+        /**
+         * Wait for a permit before pulling each item.
+         */
+        DELAY,
+
+        /**
+         * Drop the items arriving without a permit.
+         */
+        DROP
+    }
+
+
+    /**
+     * Return a {@link Traversable} that delays the items of the given {@link TraverseSupport} source
+     * to the given permits rate per second.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param permitsPerSecond the given permits rate per second
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that delays the items of the given source to the given rate
+     * @throws NullPointerException if the source {@link TraverseSupport} is {@code null}
+     * @throws IllegalArgumentException if the permits rate is not positive
+     */
+    public static <V, E extends Exception> Traversable<V, E> throttle(TraverseSupport<? extends V, ? extends E> traversable, double permitsPerSecond) {
+        return throttle(traversable, permitsPerSecond, 1L, Overflow.DELAY);
+    }
+
+    /**
+     * Return a {@link Traversable} that limits the items of the given {@link TraverseSupport} source to the given
+     * permits rate per second with the given burst, delaying or dropping the exceeding items by the given policy.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param permitsPerSecond the given permits rate per second
+     * @param burst the given number of permits available at once
+     * @param overflow the given rate overflow {@link Overflow} policy
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that limits the items of the given source to the given rate
+     * @throws NullPointerException if the source {@link TraverseSupport} or overflow policy is {@code null}
+     * @throws IllegalArgumentException if the permits rate or burst is not positive
+     */
+    public static <V, E extends Exception> Traversable<V, E> throttle(TraverseSupport<? extends V, ? extends E> traversable, double permitsPerSecond, long burst, Overflow overflow) {
+        return new ThrottleTraversable<>(traversable, permitsPerSecond, burst, overflow);
+    }
+}
@@ -0,0 +1,356 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.EvaluableThrowing1;
+import org.moodminds.function.Executable1Throwing1;
+import org.moodminds.function.Testable1Throwing1;
+import org.moodminds.traverse.context.ContextKey;
+import org.moodminds.valuable.Valuable;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.time.temporal.ChronoUnit.FOREVER;
+import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.TraversePlan.Kind.SHORT_CIRCUITING;
+import static org.moodminds.traverse.TraversePlan.Memory.CONSTANT;
+import static org.moodminds.traverse.TraversePlan.plan;
+import static org.moodminds.traverse.TraverseTime.nanos;
+import static org.moodminds.traverse.TraverseTime.schedule;
+import static org.moodminds.traverse.context.ContextKey.key;
+import static org.moodminds.valuable.Variable.var;
+import static org.moodminds.valuable.Volatile.vol;
+
+/**
+ * An implementation of the {@link Traversable} interface that bounds the traversal of a source
+ * by a whole-traversal deadline and a per-item timeout.
+ * <p>
+ * The deadline is carried in the {@link Association} context by the {@link #DEADLINE} key, so the nested
+ * timeouts share the closest one, and the nested sources may consult the {@link #remaining(Association)} time.
+ * The deadlines are checked as the items arrive: an item arriving after its deadline is discarded,
+ * and the traversal is breached or the configured exception is raised.
+ * <p>
+ * In the {@link TraverseMethod#SEQUENCE} traversal a watchdog on a shared daemon timer thread also interrupts
+ * the traversing thread once a deadline passes while the source is pulled, so a source blocking interruptibly
+ * without producing items, e.g. a stalled supplier, is timed out as well; the interruption is cleared once the
+ * traversal ends. The consumers are never interrupted. In the other traversal methods the items may be pulled
+ * by several threads, which are not interrupted, so a source blocking without producing items stalls
+ * the traversal regardless of the timeouts, unless it consults the {@link #remaining(Association)} time itself.
+ *
+ * @param <V> the type of item values
+ * @param <E> the type of traversal exception
+ */
+public class TimeoutTraversable<V, E extends Exception> implements Traversable<V, E> {
+
+    /**
+     * The absolute traversal deadline context key, in terms of {@link System#nanoTime()}.
+     */
+    public static final ContextKey<Long> DEADLINE = key("deadline");
+
+    /**
+     * The source {@link TraverseSupport} holder field.
+     */
+    private final TraverseSupport<? extends V, ? extends E> traversable;
+
+    /**
+     * The whole-traversal timeout in nanoseconds holder field, {@link Long#MAX_VALUE} if unlimited.
+     */
+    private final long timeout;
+
+    /**
+     * The per-item timeout in nanoseconds holder field, {@link Long#MAX_VALUE} if unlimited.
+     */
+    private final long itemTimeout;
+
+    /**
+     * The {@link EvaluableThrowing1} timeout exception supplier holder field, {@code null} to breach the traversal.
+     */
+    private final EvaluableThrowing1<? extends E, ? extends E> exceptable;
+
+    /**
+     * Construct the object with the given source {@link TraverseSupport}, whole-traversal and per-item
+     * timeouts and {@link EvaluableThrowing1} timeout exception supplier.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param timeout the given whole-traversal timeout
+     * @param itemTimeout the given per-item timeout
+     * @param exceptable the given {@link EvaluableThrowing1} timeout exception supplier, {@code null} to breach the traversal
+     * @throws NullPointerException if the given source {@link TraverseSupport} or any of the timeouts is {@code null}
+     * @throws IllegalArgumentException if any of the given timeouts is negative
+     */
+    protected TimeoutTraversable(TraverseSupport<? extends V, ? extends E> traversable, Duration timeout, Duration itemTimeout,
+                                 EvaluableThrowing1<? extends E, ? extends E> exceptable) {
+        if (timeout.isNegative() || itemTimeout.isNegative())
+            throw new IllegalArgumentException(format("Negative timeout: %s, %s.", timeout, itemTimeout));
+        this.traversable = requireNonNull(traversable); this.timeout = nanos(timeout); this.itemTimeout = nanos(itemTimeout);
+        this.exceptable = exceptable;
+    }
+
+    @Override
+    public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
+
+        long now = nanoTime(), deadline = ctx.containsKey(DEADLINE) ? DEADLINE.get(ctx) : now + Long.MAX_VALUE;
+
+        boolean bounded = timeout != Long.MAX_VALUE && now + timeout - deadline < 0L;
+        if (bounded)
+            ctx = Traversable.put(ctx, DEADLINE, deadline = now + timeout);
+
+        long limit = deadline; Valuable.Boolean expired = method.isSequence() ? var(false) : vol(false);
+        Watchdog watchdog = method.isSequence() && (bounded || itemTimeout != Long.MAX_VALUE)
+                ? new Watchdog(now, limit, itemTimeout) : null;
+
+        boolean result; try {
+            result = method.<V, E, H1, H2>traverse(traversable, traverser -> traverse.exec(new AbstractTraverser<V, E>() {
+
+                final Executable1Throwing1<V, Exception> accept = this::accept;
+                final Testable1Throwing1<V, Exception> test = this::test;
+
+                Executable1Throwing1<? super V, ?> consumer; Testable1Throwing1<? super V, ?> predicate; boolean fulfilled;
+
+                long mark = nanoTime();
+
+                @Override public <H extends Exception> boolean next(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                    requireNonNull(consumer); if (expired()) return false;
+                    this.consumer = consumer; fulfilled = false; try {
+                        return traverser.<Exception>next(accept) && fulfilled;
+                    } catch (Exception ex) { return sneak(ex); } }
+
+                @Override public <H extends Exception> boolean some(Testable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                    requireNonNull(consumer); if (expired()) return false;
+                    this.predicate = consumer; fulfilled = false; try {
+                        return traverser.<Exception>some(test) && fulfilled;
+                    } catch (Exception ex) { return sneak(ex); } }
+
+                @Override public <H extends Exception> void each(Executable1Throwing1<? super V, ? extends H> consumer) throws E, H {
+                    requireNonNull(consumer); if (expired()) return;
+                    this.consumer = consumer; try {
+                        traverser.<Exception>some(this::proceed);
+                    } catch (Exception ex) { sneak(ex); } }
+
+                private void accept(V value) throws Exception {
+                    if (arrived()) { fulfilled = true; consumer.exec(value); consumed(); }
+                }
+
+                private boolean test(V value) throws Exception {
+                    if (!arrived()) return fulfilled = false;
+                    fulfilled = true; boolean some = predicate.test(value); return consumed() && some;
+                }
+
+                private boolean proceed(V value) throws Exception {
+                    if (!arrived()) return false;
+                    consumer.exec(value); return consumed();
+                }
+
+                private boolean arrived() throws E {
+                    long now = nanoTime(); return !(now - limit >= 0L || now - mark > itemTimeout
+                            || watchdog != null && !watchdog.consume()) || !expire(expired);
+                }
+
+                private boolean consumed() throws E {
+                    mark = nanoTime(); if (watchdog != null) watchdog.pull(mark);
+                    return mark - limit < 0L || !expire(expired);
+                }
+
+                private boolean expired() throws E {
+                    return expired.get() || nanoTime() - limit >= 0L && expire(expired);
+                }
+
+                }), ctx) && !expired.get();
+        } catch (Throwable ex) {
+            if (watchdog == null || !watchdog.finish() || expired.get()) throw ex;
+            return !expire(expired);
+        }
+        return (watchdog == null || !watchdog.finish() || !expire(expired)) && result;
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return plan(this, SHORT_CIRCUITING, CONSTANT, traversable);
+    }
+
+
+    /**
+     * Mark the traversal as expired, raising the timeout exception if configured.
+     *
+     * @param expired the given traversal expiration flag
+     * @return {@code true} if the traversal is to be breached
+     * @throws E the timeout exception if configured
+     */
+    private boolean expire(Valuable.Boolean expired) throws E {
+        expired.set(true); if (exceptable != null) sneak(exceptable.eval()); return true;
+    }
+
+
+    /**
+     * The watchdog of a sequential traversal, interrupting the traversing thread once a deadline
+     * passes while the source is pulled. The state is the time the source started being pulled,
+     * or one of the {@link #CONSUMING}, {@link #FIRED} and {@link #DONE} markers.
+     */
+    private static class Watchdog extends AtomicLong implements Runnable {
+
+        /**
+         * The consumer running, fired and finished watchdog state markers.
+         */
+        private static final long CONSUMING = Long.MIN_VALUE, FIRED = Long.MIN_VALUE + 1, DONE = Long.MIN_VALUE + 2;
+
+        /**
+         * The traversing {@link Thread} holder field.
+         */
+        private final Thread thread = currentThread();
+
+        /**
+         * The absolute traversal deadline holder field.
+         */
+        private final long limit;
+
+        /**
+         * The per-item timeout in nanoseconds holder field, {@link Long#MAX_VALUE} if unlimited.
+         */
+        private final long itemTimeout;
+
+        /**
+         * The scheduled watchdog check {@link ScheduledFuture} holder field, guarded by this watchdog.
+         */
+        private ScheduledFuture<?> future;
+
+        /**
+         * Construct the object with the given start time, absolute traversal deadline and per-item timeout,
+         * scheduling the first check.
+         *
+         * @param start the given start time
+         * @param limit the given absolute traversal deadline
+         * @param itemTimeout the given per-item timeout in nanoseconds
+         */
+        Watchdog(long start, long limit, long itemTimeout) {
+            super(start); this.limit = limit; this.itemTimeout = itemTimeout;
+            synchronized (this) { future = schedule(this, due(start) - start); }
+        }
+
+        @Override
+        public synchronized void run() {
+            for (long mark = get(), now = nanoTime(), due, delay;; mark = get())
+                if (mark == DONE || mark == FIRED)
+                    return;
+                else if (mark == CONSUMING) {
+                    delay = limit - now > 0L ? min(limit - now, itemTimeout) : itemTimeout;
+                    if (delay != Long.MAX_VALUE) future = schedule(this, delay); return;
+                } else if ((due = due(mark)) - now > 0L) {
+                    future = schedule(this, due - now); return;
+                } else if (compareAndSet(mark, FIRED)) {
+                    thread.interrupt(); return;
+                }
+        }
+
+        /**
+         * Switch to the consumer running state, unless fired.
+         *
+         * @return {@code true} if switched, {@code false} if fired
+         */
+        boolean consume() {
+            long mark = get(); return mark != FIRED && compareAndSet(mark, CONSUMING);
+        }
+
+        /**
+         * Switch to the source pulling state started at the given time, unless fired.
+         *
+         * @param mark the given time the source started being pulled
+         */
+        void pull(long mark) {
+            long state = get(); if (state != FIRED) compareAndSet(state, mark);
+        }
+
+        /**
+         * Finish the watchdog, clearing the interruption of the traversing thread if fired.
+         *
+         * @return {@code true} if fired
+         */
+        boolean finish() {
+            long state; synchronized (this) { state = getAndSet(DONE); future.cancel(false); }
+            if (state == FIRED) Thread.interrupted(); return state == FIRED;
+        }
+
+        /**
+         * Return the time the check is due at for the source pulling started at the given time.
+         *
+         * @param mark the given time the source started being pulled
+         * @return the time the check is due at
+         */
+        private long due(long mark) {
+            return itemTimeout == Long.MAX_VALUE || mark + itemTimeout - limit >= 0L ? limit : mark + itemTimeout;
+        }
+    }
+
+
+    /**
+     * Return the remaining time in nanoseconds until the deadline carried in the given {@link Association} context,
+     * or {@link Long#MAX_VALUE} if there is no deadline.
+     *
+     * @param ctx the given {@link Association} context
+     * @return the remaining time in nanoseconds until the deadline carried in the given {@link Association} context
+     */
+    public static long remaining(Association<?, ?, ?> ctx) {
+        return ctx.containsKey(DEADLINE) ? DEADLINE.get(ctx) - nanoTime() : Long.MAX_VALUE;
+    }
+
+
+    /**
+     * Return a {@link Traversable} that breaches the traversal of the given {@link TraverseSupport}
+     * source once the given whole-traversal timeout elapses.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param timeout the given whole-traversal timeout
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that breaches the traversal of the given source once the timeout elapses
+     * @throws NullPointerException if the given source {@link TraverseSupport} or timeout is {@code null}
+     * @throws IllegalArgumentException if the given timeout is negative
+     */
+    public static <V, E extends Exception> Traversable<V, E> timeout(TraverseSupport<? extends V, ? extends E> traversable, Duration timeout) {
+        return new TimeoutTraversable<>(traversable, timeout, FOREVER.getDuration(), null);
+    }
+
+    /**
+     * Return a {@link Traversable} that breaches the traversal of the given {@link TraverseSupport} source once
+     * the given whole-traversal timeout elapses or an item does not arrive within the given per-item timeout.
+     * A timeout too long to be represented in nanoseconds, e.g. {@link java.time.temporal.ChronoUnit#FOREVER}, is unlimited.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param timeout the given whole-traversal timeout
+     * @param itemTimeout the given per-item timeout
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that breaches the traversal of the given source once any of the timeouts elapses
+     * @throws NullPointerException if the given source {@link TraverseSupport} or any of the timeouts is {@code null}
+     * @throws IllegalArgumentException if any of the given timeouts is negative
+     */
+    public static <V, E extends Exception> Traversable<V, E> timeout(TraverseSupport<? extends V, ? extends E> traversable, Duration timeout, Duration itemTimeout) {
+        return new TimeoutTraversable<>(traversable, timeout, itemTimeout, null);
+    }
+
+    /**
+     * Return a {@link Traversable} that raises the exception of the given {@link EvaluableThrowing1} supplier in the
+     * traversal of the given {@link TraverseSupport} source once the given whole-traversal timeout elapses or
+     * an item does not arrive within the given per-item timeout.
+     *
+     * @param traversable the given source {@link TraverseSupport}
+     * @param timeout the given whole-traversal timeout
+     * @param itemTimeout the given per-item timeout
+     * @param exceptable the given {@link EvaluableThrowing1} timeout exception supplier
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a {@link Traversable} that raises the supplied exception once any of the timeouts elapses
+     * @throws NullPointerException if the given source {@link TraverseSupport}, any of the timeouts
+     * or the {@link EvaluableThrowing1} timeout exception supplier is {@code null}
+     * @throws IllegalArgumentException if any of the given timeouts is negative
+     */
+    public static <V, E extends Exception> Traversable<V, E> timeout(TraverseSupport<? extends V, ? extends E> traversable, Duration timeout, Duration itemTimeout,
+                                                                     EvaluableThrowing1<? extends E, ? extends E> exceptable) {
+        return new TimeoutTraversable<>(traversable, timeout, itemTimeout, requireNonNull(exceptable));
+    }
+}
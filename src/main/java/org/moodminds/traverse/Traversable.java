@@ -11,34 +11,59 @@ import org.moodminds.function.Executable1Throwing3;
 import org.moodminds.function.Testable1Throwing1;
 import org.moodminds.function.Testable1Throwing2;
 import org.moodminds.function.Testable1Throwing3;
-import org.moodminds.traverse.context.NestContext;
-import org.moodminds.traverse.context.SnapContext;
+import org.moodminds.traverse.context.ArrayContext;
+import org.moodminds.traverse.context.ContextKey;
+import org.moodminds.traverse.context.SlotContext;
+import org.moodminds.traverse.context.TrieContext;
 import org.moodminds.valuable.Valuable;
 import org.moodminds.valuable.Variable;
 import org.moodminds.valuable.Volatile;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static java.util.Objects.requireNonNullElseGet;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterator.SIZED;
+import static java.util.Spliterator.SUBSIZED;
 import static java.util.stream.Collector.Characteristics.CONCURRENT;
 
 import static org.moodminds.elemental.OptionalNullable.collector;
 import static org.moodminds.elemental.OptionalNullable.nullable;
 import static org.moodminds.elemental.Pair.pair;
 import static org.moodminds.function.Evaluable1Throwing1.identity;
+import static org.moodminds.sneaky.Cast.cast;
 import static org.moodminds.sneaky.Sneak.sneak;
 import static org.moodminds.traverse.TraverseMethod.*;
 import static org.moodminds.valuable.Variable.var;
@@ -660,6 +685,73 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
     <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2;
 
 
+    /**
+     * Return a lazily evaluated {@link Stream} of the Source items using the specified {@link TraverseMethod traverse method}
+     * with the given {@link KeyValue key-value} varargs context.
+     * <p>
+     * The specified {@link KeyValue key-values} must not contain {@code null} keys or values to avoid {@link NullPointerException}.
+     *
+     * @param method the specified {@link TraverseMethod} traverse method
+     * @param ctx    the given {@link KeyValue} varargs context
+     * @return a lazily evaluated {@link Stream} of the Source items
+     * @throws NullPointerException if the specified traverse method is {@code null}
+     *                              or {@link KeyValue key-values} have {@code null} keys or values
+     */
+    default Stream<V> toStream(TraverseMethod method, KeyValue<?, ?>... ctx) {
+        return toStream(method, context(ctx));
+    }
+
+    /**
+     * Return a lazily evaluated {@link Stream} of the Source items using the specified {@link TraverseMethod traverse method}
+     * with the given {@link Association} context.
+     * <p>
+     * By default, the Source is resolved into a list on the {@link Stream} terminal operation start, and the list's
+     * splittable {@link Spliterator} backs the returned {@link Stream}. The {@link Stream} backed implementations
+     * and the stateless operators on top of them pass the original {@link Spliterator} through instead, bound
+     * on the terminal operation start as well, so that the parallel splitting is preserved.
+     * The traversal exceptions are propagated as is by the {@link Stream} terminal operation.
+     * <p>
+     * The specified {@link Association} must contain non-null keys and values, and its {@link Association#get(Object)}
+     * method should raise a {@link NoSuchElementException} instead of returning {@code null} when no value is associated
+     * with a key.
+     *
+     * @param method the specified {@link TraverseMethod} traverse method
+     * @param ctx    the given {@link Association} context
+     * @return a lazily evaluated {@link Stream} of the Source items
+     * @throws NullPointerException if the specified traverse method is {@code null}
+     *                              or {@link Association} contains {@code null} keys or values
+     */
+    default Stream<V> toStream(TraverseMethod method, Association<?, ?, ?> ctx) {
+        requireNonNull(method); requireNonNull(ctx); return StreamSupport.stream(() -> {
+            try { return Traversable.<V, E, List<V>, E>reduce(Collectors.toCollection(ArrayList::new)).resolve(method, this, ctx).spliterator(); }
+            catch (Exception ex) { return sneak(ex); }
+        }, ORDERED | SIZED | SUBSIZED, method.isParallel());
+    }
+
+    /**
+     * Return the {@link TraversePlan} of this Traversable: the tree of its operators, each marked with its
+     * {@link TraversePlan.Kind kind} and rough {@link TraversePlan.Memory memory} class.
+     * The built-in operators describe their sources, while this default describes an opaque stateless source.
+     *
+     * @return the {@link TraversePlan} of this Traversable
+     */
+    default TraversePlan describe() {
+        return TraversePlan.plan(this, TraversePlan.Kind.STATELESS, TraversePlan.Memory.CONSTANT);
+    }
+
+    /**
+     * Return an equivalent of this Traversable with its operator tree rewritten by the algebraic rules
+     * of the built-in operators, e.g. the nested limits and skips merged, the consecutive maps fused
+     * and the sorting and uniqueness stages combined, or this Traversable if there is nothing to rewrite.
+     * The rewriting is applied only on demand, once per tree, and never during the traversal.
+     *
+     * @return an equivalent of this Traversable with its operator tree rewritten, or this Traversable
+     */
+    default Traversable<V, E> optimize() {
+        return this;
+    }
+
+
     /**
      * {@inheritDoc}
      *
@@ -1063,6 +1155,40 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
          * @throws H in case of the resolution error
          */
         R resolve(TraverseMethod method, TraverseSupport<? extends V, ? extends E> traversable, Association<?, ?, ?> ctx) throws E, H;
+
+        /**
+         * Return the rough {@link TraversePlan.Memory memory} class of this resolution, in terms of the number
+         * of the source items, as reported by the {@link ResolveTraversable} plan node.
+         *
+         * @return the rough {@link TraversePlan.Memory memory} class of this resolution,
+         * {@link TraversePlan.Memory#CONSTANT constant} by default
+         */
+        default TraversePlan.Memory memory() {
+            return TraversePlan.Memory.CONSTANT;
+        }
+    }
+
+    /**
+     * Represents an encoding operation that puts an item value into a {@link ByteBuffer},
+     * as used by the {@link #write(WritableByteChannel, Encoder)} resolvers.
+     * <p>
+     * The encoding is expected to either put the whole item or fail by the {@link java.nio.BufferOverflowException}
+     * when the buffer has not enough space remaining, in which case it is repeated on an empty buffer.
+     *
+     * @param <V> the type of item values
+     * @param <H> the type of encoding exception
+     */
+    @FunctionalInterface
+    interface Encoder<V, H extends Exception> {
+
+        /**
+         * Encode the given item value into the given {@link ByteBuffer} at its position.
+         *
+         * @param value  the given item value
+         * @param buffer the given {@link ByteBuffer}
+         * @throws H in case of the encoding error
+         */
+        void encode(V value, ByteBuffer buffer) throws H;
     }
 
 
@@ -1264,9 +1390,26 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
      * @throws NullPointerException if {@code collector} is {@code null}
      */
     static <V, E extends Exception, R, H extends Exception> Resolver<V, E, R, H> reduce(Collector<? super V, ?, ? extends R> collector) {
+        return reduce(collector, TraversePlan.Memory.LINEAR);
+    }
+
+    /**
+     * Return a {@link Resolver} that applies the specified {@link Collector}, as the {@link #reduce(Collector)} does,
+     * reporting the given {@link TraversePlan.Memory memory} class of the collection.
+     *
+     * @param collector the {@link Collector} used to accumulate and reduce elements
+     * @param memory    the given {@link TraversePlan.Memory memory} class of the collection
+     * @param <V>       the type of item values
+     * @param <E>       the type of traversal exception
+     * @param <R>       the type of the collecting result
+     * @param <H>       the type of resolution exception
+     * @return a {@link Resolver} that applies the specified {@link Collector}
+     * @throws NullPointerException if {@code collector} is {@code null}
+     */
+    private static <V, E extends Exception, R, H extends Exception> Resolver<V, E, R, H> reduce(Collector<? super V, ?, ? extends R> collector, TraversePlan.Memory memory) {
         requireNonNull(collector); return new Object() {
             private <A> Resolver<V, E, R, H> reducing(Collector<? super V, A, ? extends R> collector) {
-                return (method, traversable, ctx) -> {
+                return resolver(memory, (method, traversable, ctx) -> {
 
                     Supplier<A> supplier = requireNonNull(collector.supplier());
                     BinaryOperator<A> combiner = requireNonNull(collector.combiner());
@@ -1294,7 +1437,7 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
                         return finisher.apply(results.entrySet().stream().sorted(comparing(e -> places.get(e.getKey())))
                                 .map(Entry::getValue).reduce(combiner).orElseGet(supplier));
                     }
-                };
+                });
             };
         }.reducing(collector);
     }
@@ -1314,7 +1457,7 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
     static <V, E extends Exception, H extends Exception> Resolver<V, E, OptionalNullable<V>, H> reduce(Evaluable2Throwing1<? super V, ? super V, ? extends V, ? extends H> reducer) {
         requireNonNull(reducer); return reduce(collector(Collectors.reducing((v1, v2) -> {
             try { return reducer.eval(v1, v2); } catch (Exception e) { return sneak(e); }
-        })));
+        })), TraversePlan.Memory.CONSTANT);
     }
 
     /**
@@ -1356,7 +1499,284 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
             try { return mapper.eval(s); } catch (Exception e) { return sneak(e); }
         }, (v1, v2) -> {
             try { return reducer.eval(v1, v2); } catch (Exception e) { return sneak(e); }
-        }));
+        }), TraversePlan.Memory.CONSTANT);
+    }
+
+    /**
+     * Return a {@link Resolver} that draws a uniform random sample of the given size out of the elements,
+     * in a single pass and the memory bounded by the sample size. During parallel traversal, the samples
+     * are drawn per worker {@link Thread} and then merged into the sample of all the elements.
+     *
+     * @param size the given sample size
+     * @param <V>  the type of item values
+     * @param <E>  the type of traversal exception
+     * @param <H>  the type of resolution exception
+     * @return a {@link Resolver} that draws a uniform random sample of the given size out of the elements
+     * @throws IllegalArgumentException if the given sample size is negative
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, List<V>, H> reservoirSample(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException(format("Negative sample size: %d.", size));
+        return reduce(Collector.<V, SampleTraversable.Reservoir<V>, List<V>>of(() -> new SampleTraversable.Reservoir<>(size),
+                SampleTraversable.Reservoir::add, SampleTraversable.Reservoir::merge, SampleTraversable.Reservoir::sample), TraversePlan.Memory.BOUNDED);
+    }
+
+    /**
+     * Return a {@link Resolver} that counts the elements. The elements are counted per traversed
+     * segment and the segment counts are added up lock-free. The {@link StreamTraversable} sources
+     * of the {@link Spliterator#SIZED sized} streams are counted by their exact size, without traversal.
+     * The size-preserving {@link MapTraversable}, {@link PeekTraversable} and non-distinct
+     * {@link SortedTraversable} are counted by their sources, so, as with the {@link Stream#count()},
+     * their functions may not be executed.
+     *
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @param <H> the type of resolution exception
+     * @return a {@link Resolver} that counts the elements
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, Long, H> count() {
+        return (method, traversable, ctx) -> {
+            if (traversable instanceof StreamTraversable)
+                return ((StreamTraversable<? extends V, ? extends E>) traversable).count(method, ctx);
+            if (traversable.getClass() == MapTraversable.class)
+                return ((MapTraversable<?, ? extends V, ? extends E>) traversable).count(method, ctx);
+            if (traversable.getClass() == PeekTraversable.class)
+                return ((PeekTraversable<? extends V, ? extends E>) traversable).count(method, ctx);
+            LongAdder total = new LongAdder();
+            method.traverse(traversable, traverser -> {
+                Variable.Long count = var(0L); traverser.each(value -> { count.num++; }); total.add(count.num);
+            }, ctx); return total.sum();
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that sums the {@code long} values of the elements by the given {@link ToLongFunction},
+     * without boxing. The values are summed per traversed segment and the segment sums are added up lock-free.
+     *
+     * @param mapper the given {@link ToLongFunction} element value function
+     * @param <V>    the type of item values
+     * @param <E>    the type of traversal exception
+     * @param <H>    the type of resolution exception
+     * @return a {@link Resolver} that sums the {@code long} values of the elements
+     * @throws NullPointerException if the given {@link ToLongFunction} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, Long, H> sumLong(ToLongFunction<? super V> mapper) {
+        requireNonNull(mapper); return (method, traversable, ctx) -> {
+            LongAdder total = new LongAdder();
+            method.traverse(traversable, traverser -> {
+                Variable.Long sum = var(0L); traverser.each(value -> { sum.num += mapper.applyAsLong(value); }); total.add(sum.num);
+            }, ctx); return total.sum();
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that sums the {@code double} values of the elements by the given {@link ToDoubleFunction},
+     * without boxing. The values are summed per traversed segment and the segment sums are added up lock-free,
+     * so the rounding of the parallel sum may differ from run to run.
+     *
+     * @param mapper the given {@link ToDoubleFunction} element value function
+     * @param <V>    the type of item values
+     * @param <E>    the type of traversal exception
+     * @param <H>    the type of resolution exception
+     * @return a {@link Resolver} that sums the {@code double} values of the elements
+     * @throws NullPointerException if the given {@link ToDoubleFunction} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, Double, H> sumDouble(ToDoubleFunction<? super V> mapper) {
+        requireNonNull(mapper); return (method, traversable, ctx) -> {
+            DoubleAdder total = new DoubleAdder();
+            method.traverse(traversable, traverser -> {
+                double[] sum = {0d}; traverser.each(value -> { sum[0] += mapper.applyAsDouble(value); }); total.add(sum[0]);
+            }, ctx); return total.sum();
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that finds the least element by the given {@link Comparator} and stores it
+     * in a {@link OptionalNullable}, the first one of the equal elements during sequential traversal.
+     * The least element is found per traversed segment and the segment ones are compared lock-free.
+     *
+     * @param comparator the given {@link Comparator}
+     * @param <V>        the type of item values
+     * @param <E>        the type of traversal exception
+     * @param <H>        the type of resolution exception
+     * @return a {@link Resolver} that finds the least element by the given {@link Comparator}
+     * @throws NullPointerException if the given {@link Comparator} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, OptionalNullable<V>, H> min(Comparator<? super V> comparator) {
+        requireNonNull(comparator); return extreme((v1, v2) -> comparator.compare(v1, v2) <= 0 ? v1 : v2);
+    }
+
+    /**
+     * Return a {@link Resolver} that finds the greatest element by the given {@link Comparator} and stores it
+     * in a {@link OptionalNullable}, the first one of the equal elements during sequential traversal.
+     * The greatest element is found per traversed segment and the segment ones are compared lock-free.
+     *
+     * @param comparator the given {@link Comparator}
+     * @param <V>        the type of item values
+     * @param <E>        the type of traversal exception
+     * @param <H>        the type of resolution exception
+     * @return a {@link Resolver} that finds the greatest element by the given {@link Comparator}
+     * @throws NullPointerException if the given {@link Comparator} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, OptionalNullable<V>, H> max(Comparator<? super V> comparator) {
+        requireNonNull(comparator); return extreme((v1, v2) -> comparator.compare(v1, v2) >= 0 ? v1 : v2);
+    }
+
+    /**
+     * Return a {@link Resolver} that collects the {@link LongSummaryStatistics} of the {@code long} values
+     * of the elements by the given {@link ToLongFunction}: their count, sum, minimum, maximum and average.
+     * The statistics are collected per traversed segment and combined once the traversal is over.
+     *
+     * @param mapper the given {@link ToLongFunction} element value function
+     * @param <V>    the type of item values
+     * @param <E>    the type of traversal exception
+     * @param <H>    the type of resolution exception
+     * @return a {@link Resolver} that collects the {@link LongSummaryStatistics} of the elements
+     * @throws NullPointerException if the given {@link ToLongFunction} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, LongSummaryStatistics, H> summaryStatistics(ToLongFunction<? super V> mapper) {
+        requireNonNull(mapper); return (method, traversable, ctx) -> {
+            Queue<LongSummaryStatistics> segments = new ConcurrentLinkedQueue<>();
+            method.traverse(traversable, traverser -> {
+                LongSummaryStatistics statistics = new LongSummaryStatistics();
+                traverser.each(value -> statistics.accept(mapper.applyAsLong(value))); segments.add(statistics);
+            }, ctx);
+            LongSummaryStatistics statistics = new LongSummaryStatistics();
+            segments.forEach(statistics::combine); return statistics;
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that collects the {@link DoubleSummaryStatistics} of the {@code double} values
+     * of the elements by the given {@link ToDoubleFunction}: their count, sum, minimum, maximum and average.
+     * The statistics are collected per traversed segment and combined once the traversal is over.
+     *
+     * @param mapper the given {@link ToDoubleFunction} element value function
+     * @param <V>    the type of item values
+     * @param <E>    the type of traversal exception
+     * @param <H>    the type of resolution exception
+     * @return a {@link Resolver} that collects the {@link DoubleSummaryStatistics} of the elements
+     * @throws NullPointerException if the given {@link ToDoubleFunction} is {@code null}
+     */
+    static <V, E extends Exception, H extends Exception> Resolver<V, E, DoubleSummaryStatistics, H> summaryDoubleStatistics(ToDoubleFunction<? super V> mapper) {
+        requireNonNull(mapper); return (method, traversable, ctx) -> {
+            Queue<DoubleSummaryStatistics> segments = new ConcurrentLinkedQueue<>();
+            method.traverse(traversable, traverser -> {
+                DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+                traverser.each(value -> statistics.accept(mapper.applyAsDouble(value))); segments.add(statistics);
+            }, ctx);
+            DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+            segments.forEach(statistics::combine); return statistics;
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that selects an element by the given {@link BinaryOperator} per traversed segment
+     * and then out of the segment ones by the atomic accumulation, storing it in a {@link OptionalNullable}.
+     *
+     * @param selector the given {@link BinaryOperator} selector of one of two elements
+     * @param <V>      the type of item values
+     * @param <E>      the type of traversal exception
+     * @param <H>      the type of resolution exception
+     * @return a {@link Resolver} that selects an element by the given {@link BinaryOperator}
+     */
+    private static <V, E extends Exception, H extends Exception> Resolver<V, E, OptionalNullable<V>, H> extreme(BinaryOperator<V> selector) {
+        Object none = new Object(); BinaryOperator<Object> select = (v1, v2) -> v1 == none ? v2 : v2 == none ? v1 : selector.apply(cast(v1), cast(v2));
+        return (method, traversable, ctx) -> {
+            AtomicReference<Object> extreme = new AtomicReference<>(none);
+            method.traverse(traversable, traverser -> {
+                Variable<Object> local = var(none); traverser.each(value -> { local.val = select.apply(local.val, value); });
+                extreme.accumulateAndGet(local.val, select);
+            }, ctx);
+            Object value = extreme.get(); return value == none ? OptionalNullable.empty() : nullable(cast(value));
+        };
+    }
+
+    /**
+     * Return the given {@link Resolver} reporting the given {@link TraversePlan.Memory memory} class.
+     *
+     * @param memory   the given {@link TraversePlan.Memory memory} class
+     * @param resolver the given {@link Resolver}
+     * @param <V>      the type of item values
+     * @param <E>      the type of traversal exception
+     * @param <R>      the type of the resolution result
+     * @param <H>      the type of resolution exception
+     * @return the given {@link Resolver} reporting the given {@link TraversePlan.Memory memory} class
+     */
+    private static <V, E extends Exception, R, H extends Exception> Resolver<V, E, R, H> resolver(TraversePlan.Memory memory, Resolver<V, E, R, H> resolver) {
+        return new Resolver<>() {
+            @Override public R resolve(TraverseMethod method, TraverseSupport<? extends V, ? extends E> traversable, Association<?, ?, ?> ctx) throws E, H {
+                return resolver.resolve(method, traversable, ctx); }
+            @Override public TraversePlan.Memory memory() {
+                return memory; }
+        };
+    }
+
+    /**
+     * Return a {@link Resolver} that encodes the elements by the given {@link Encoder} into the {@link TraversePool}
+     * {@link ByteBuffer}s and writes them to the given {@link WritableByteChannel}, resolving the number
+     * of bytes written. The buffers are flushed in batches by gathering writes, if the channel is
+     * a {@link GatheringByteChannel}, instead of a write per element.
+     * <p>
+     * The buffers are direct and reused only with a {@link TraversePool} able to retain them, set in the context
+     * or as the global one. With the default global pool of zero capacity they are heap buffers allocated
+     * per resolution, so that no native memory is allocated for a single use.
+     * <p>
+     * During parallel traversal, the elements are encoded into the buffers per worker {@link Thread},
+     * so the order of the elements is kept within a buffer only. The buffers of a failed parallel traversal
+     * are not returned to the pool, as its remaining workers may still be encoding. The channel is neither
+     * closed nor forced.
+     *
+     * @param channel the given {@link WritableByteChannel}
+     * @param encoder the given {@link Encoder}
+     * @param <V>     the type of item values
+     * @param <E>     the type of traversal exception
+     * @return a {@link Resolver} that encodes and writes the elements to the given {@link WritableByteChannel}
+     * @throws NullPointerException if the given {@link WritableByteChannel} or {@link Encoder} is {@code null}
+     */
+    static <V, E extends Exception> Resolver<V, E, Long, IOException> write(WritableByteChannel channel, Encoder<? super V, ? extends IOException> encoder) {
+        return write(channel, encoder, 1 << 16);
+    }
+
+    /**
+     * Return a {@link Resolver} that encodes the elements by the given {@link Encoder} into the pooled
+     * {@link ByteBuffer}s of the given capacity and writes them to the given {@link WritableByteChannel},
+     * resolving the number of bytes written.
+     *
+     * @param channel  the given {@link WritableByteChannel}
+     * @param encoder  the given {@link Encoder}
+     * @param capacity the given buffer capacity, not less than the largest encoded element
+     * @param <V>      the type of item values
+     * @param <E>      the type of traversal exception
+     * @return a {@link Resolver} that encodes and writes the elements to the given {@link WritableByteChannel}
+     * @throws NullPointerException if the given {@link WritableByteChannel} or {@link Encoder} is {@code null}
+     * @throws IllegalArgumentException if the given buffer capacity is not positive
+     * @see #write(WritableByteChannel, Encoder)
+     */
+    static <V, E extends Exception> Resolver<V, E, Long, IOException> write(WritableByteChannel channel, Encoder<? super V, ? extends IOException> encoder, int capacity) {
+        requireNonNull(channel); requireNonNull(encoder);
+        if (capacity <= 0)
+            throw new IllegalArgumentException(format("Not positive buffer capacity: %d.", capacity));
+        return resolver(TraversePlan.Memory.BOUNDED, (method, traversable, ctx) -> {
+            ChannelSink<V> sink = new ChannelSink<>(channel, encoder, capacity, TraversePool.pool(ctx));
+            if (method.isSequence()) {
+                ChannelSink<V>.Batch batch = sink.batch();
+                try { method.traverse(traversable, each(batch::encode), ctx); batch.flush(); } finally { batch.release(); }
+            } else {
+                ConcurrentMap<Thread, ChannelSink<V>.Batch> batches = new ConcurrentHashMap<>();
+                method.<V, E, E, IOException>traverse(traversable, traverser -> {
+                    ChannelSink<V>.Batch batch = batches.computeIfAbsent(currentThread(), unused -> sink.batch());
+                    traverser.each(batch::encode);
+                }, ctx);
+                // the failed traversal splits may still be encoding into their batches,
+                // so the buffers are returned to the pool only once every split has finished
+                try {
+                    for (ChannelSink<V>.Batch batch : batches.values())
+                        batch.flush();
+                } finally { batches.values().forEach(ChannelSink.Batch::release); }
+            }
+            return sink.written();
+        });
     }
 
     /**
@@ -1372,6 +1792,8 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
         requireNonNull(traverseSupport); return new Traversable<>() {
             public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
                 return (method.isTraverse() ? SEQUENCE : method).traverse(traverseSupport, traverse, ctx); }
+            public TraversePlan describe() {
+                return TraversePlan.plan("sequence", TraversePlan.Kind.STATELESS, TraversePlan.Memory.CONSTANT, traverseSupport); }
         };
     }
 
@@ -1388,6 +1810,8 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
         requireNonNull(traverseSupport); return new Traversable<>() {
             public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
                 return (method.isTraverse() ? PARALLEL : method).traverse(traverseSupport, traverse, ctx); }
+            public TraversePlan describe() {
+                return TraversePlan.plan("parallel", TraversePlan.Kind.STATELESS, TraversePlan.Memory.CONSTANT, traverseSupport); }
         };
     }
 
@@ -1400,10 +1824,7 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
      * @return an idle {@link Traversable}, returning no elements and executing nothing
      */
     static <V, E extends Exception> Traversable<V, E> traversable() {
-        return new Traversable<>() {
-            public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
-                return traverse.complete(traverser()); }
-        };
+        return EmptyTraversable.empty();
     }
 
     /**
@@ -1419,9 +1840,45 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
         requireNonNull(traverseSupport); return new Traversable<>() {
             public <H1 extends Exception, H2 extends Exception> boolean traverse(TraverseMethod method, Traverse<V, E, ? extends H1, ? extends H2> traverse, Association<?, ?, ?> ctx) throws E, H1, H2 {
                 return method.traverse(traverseSupport, traverse, ctx); }
+            public TraversePlan describe() {
+                return TraversePlan.plan(traverseSupport); }
         };
     }
 
+    /**
+     * Return an equivalent of the given {@link TraverseSupport} source with its operator tree
+     * {@link #optimize() rewritten}.
+     *
+     * @param traverseSupport the given {@link TraverseSupport} source
+     * @param <V>             the type of item values
+     * @param <E>             the type of traversal exception
+     * @return an equivalent of the given {@link TraverseSupport} source with its operator tree rewritten
+     * @throws NullPointerException if the given {@link TraverseSupport} source is {@code null}
+     */
+    static <V, E extends Exception> Traversable<V, E> optimize(TraverseSupport<? extends V, ? extends E> traverseSupport) {
+        return traverseSupport instanceof Traversable ? cast(((Traversable<?, ?>) traverseSupport).optimize())
+                : traversable(traverseSupport);
+    }
+
+    /**
+     * Return a lazily evaluated {@link Stream} of the given {@link TraverseSupport} source items using the specified
+     * {@link TraverseMethod traverse method} with the given {@link Association} context.
+     *
+     * @param traverseSupport the given {@link TraverseSupport} source
+     * @param method          the specified {@link TraverseMethod} traverse method
+     * @param ctx             the given {@link Association} context
+     * @param <V>             the type of item values
+     * @param <E>             the type of traversal exception
+     * @return a lazily evaluated {@link Stream} of the given {@link TraverseSupport} source items
+     * @throws NullPointerException if the given {@link TraverseSupport} source or traverse method is {@code null}
+     *                              or {@link Association} contains {@code null} keys or values
+     * @see #toStream(TraverseMethod, Association)
+     */
+    static <V, E extends Exception> Stream<V> toStream(TraverseSupport<? extends V, ? extends E> traverseSupport, TraverseMethod method, Association<?, ?, ?> ctx) {
+        return traverseSupport instanceof Traversable ? cast(((Traversable<?, ?>) traverseSupport).toStream(method, ctx))
+                : Traversable.<V, E>traversable(traverseSupport).toStream(method, ctx);
+    }
+
     /**
      * Create a new {@link Association} context using the specified key-value pair.
      *
@@ -1442,13 +1899,10 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
      * @throws NullPointerException if the key or value in any of the specified entries is {@code null}
      */
     static Association<Object, Object, ?> context(KeyValue<?, ?>... kvs) {
-        if (kvs.length > 8)
-            return SnapContext.context(kvs);
-
-        NestContext context = NestContext.context();
+        Association<Object, Object, ?> context = kvs.length > ArrayContext.THRESHOLD ? TrieContext.context(kvs) : ArrayContext.context(kvs);
         for (KeyValue<?, ?> kv : kvs)
-            context = NestContext.context(context, kv.getKey(), kv.getValue());
-
+            if (kv.getKey() instanceof ContextKey)
+                return SlotContext.context(context);
         return context;
     }
 
@@ -1462,12 +1916,18 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
      * @throws NullPointerException if the given {@link Association} context, key, or value is {@code null}
      */
     static Association<Object, Object, ?> put(Association<?, ?, ?> context, Object key, Object value) {
-        return context.size() < 8 ? NestContext.context(context, key, value)
-                : SnapContext.context(context, key, value);
+        if (key instanceof ContextKey)
+            return SlotContext.context(context, (ContextKey<?>) key, value);
+        if (context instanceof SlotContext)
+            return ((SlotContext) context).basis(put(((SlotContext) context).basis(), key, value));
+        return context instanceof TrieContext || context.size() >= ArrayContext.THRESHOLD ? TrieContext.context(context, key, value)
+                : ArrayContext.context(context, key, value);
     }
 
     /**
      * Return a new {@link Association} context by deleting the entry with the specified key.
+     * A {@link TrieContext} shrunk to the half of the {@link ArrayContext#THRESHOLD} is converted back
+     * to an {@link ArrayContext}.
      *
      * @param context the specified {@link Association} context
      * @param key     the key of the entry to delete
@@ -1475,7 +1935,13 @@ public interface Traversable<V, E extends Exception> extends TraverseSupport<V,
      * @throws NullPointerException if the given {@link Association} context or key is {@code null}
      */
     static Association<Object, Object, ?> remove(Association<?, ?, ?> context, Object key) {
-        return context.size() < 8 ? NestContext.context(context, key)
-                : SnapContext.context(context, key);
+        if (key instanceof ContextKey)
+            return SlotContext.context(context, (ContextKey<?>) key);
+        if (context instanceof SlotContext)
+            return ((SlotContext) context).basis(remove(((SlotContext) context).basis(), key));
+        if (!(context instanceof TrieContext) && context.size() <= ArrayContext.THRESHOLD + 1)
+            return ArrayContext.context(context, key);
+        TrieContext trie = TrieContext.context(context, key);
+        return trie.size() > ArrayContext.THRESHOLD >> 1 ? trie : ArrayContext.context(trie);
     }
 }
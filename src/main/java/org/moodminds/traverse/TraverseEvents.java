@@ -0,0 +1,237 @@
+package org.moodminds.traverse;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.lang.ModuleLayer.boot;
+import static jdk.jfr.EventType.getEventType;
+
+/**
+ * The Java Flight Recorder events of the traversal lifecycle.
+ * <p>
+ * The events are emitted only when the {@code jdk.jfr} module is present and the event is enabled in a recording,
+ * otherwise each emission point costs a single check of the cached {@link EventType}, allocating nothing.
+ * The event classes are referenced only behind the {@link #AVAILABLE} check, so the runtimes without
+ * the module never load them.
+ */
+final class TraverseEvents {
+
+    /**
+     * The {@code jdk.jfr} module presence flag.
+     */
+    private static final boolean AVAILABLE = boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * Prevent the instantiation.
+     */
+    private TraverseEvents() {}
+
+    /**
+     * Begin the {@link StreamEvent} of the traversal of the given {@link TraverseMethod} if enabled.
+     *
+     * @param method the given {@link TraverseMethod}
+     * @return the begun {@link StreamEvent}, or {@code null} if disabled
+     */
+    static StreamEvent stream(TraverseMethod method) {
+        if (!AVAILABLE || !Types.STREAM.isEnabled()) return null;
+        StreamEvent event = new StreamEvent(); event.method = method.name(); event.begin(); return event;
+    }
+
+    /**
+     * Record the exception caught by the {@link CatchTraversable} traversal.
+     *
+     * @param caught the given caught exception
+     */
+    static void caught(Throwable caught) {
+        if (!AVAILABLE || !Types.CATCH.isEnabled()) return;
+        CatchEvent event = new CatchEvent();
+        event.exception = caught.getClass().getName(); event.message = caught.getMessage(); event.commit();
+    }
+
+    /**
+     * Record the retry of the {@link CatchTraversable} traversal.
+     *
+     * @param caught the given caught exception
+     * @param attempt the given retry attempt number, starting from 1
+     */
+    static void retry(Throwable caught, long attempt) {
+        if (!AVAILABLE || !Types.RETRY.isEnabled()) return;
+        RetryEvent event = new RetryEvent();
+        event.exception = caught.getClass().getName(); event.attempt = attempt; event.commit();
+    }
+
+    /**
+     * Begin the {@link SortEvent} of the {@link SortedTraversable} materialization if enabled.
+     *
+     * @return the begun {@link SortEvent}, or {@code null} if disabled
+     */
+    static SortEvent sort() {
+        if (!AVAILABLE || !Types.SORT.isEnabled()) return null;
+        SortEvent event = new SortEvent(); event.begin(); return event;
+    }
+
+    /**
+     * Check whether the {@link UniqueEvent} is enabled.
+     *
+     * @return {@code true} if the {@link UniqueEvent} is enabled
+     */
+    static boolean unique() {
+        return AVAILABLE && Types.UNIQUE.isEnabled();
+    }
+
+    /**
+     * Record the growth of the {@link UniqueTraversable} seen values set to the given size.
+     *
+     * @param size the given seen values set size
+     */
+    static void unique(long size) {
+        UniqueEvent event = new UniqueEvent(); event.size = size; event.commit();
+    }
+
+
+    /**
+     * The holder of the cached {@link EventType}s of the events, initialized on the first emission check.
+     */
+    private static final class Types {
+
+        /**
+         * The {@link EventType}s of the events holder fields.
+         */
+        static final EventType STREAM = getEventType(StreamEvent.class), CATCH = getEventType(CatchEvent.class),
+                RETRY = getEventType(RetryEvent.class), SORT = getEventType(SortEvent.class), UNIQUE = getEventType(UniqueEvent.class);
+    }
+
+    /**
+     * The {@link StreamTraversable} traversal event.
+     */
+    @Name("org.moodminds.traverse.Stream")
+    @Label("Stream Traversal")
+    @Category("Traverse")
+    @Description("Traversal of a stream backed source")
+    static final class StreamEvent extends Event {
+
+        @Label("Method")
+        String method;
+
+        @Label("Items")
+        long items;
+
+        @Label("Splits")
+        long splits;
+
+        /**
+         * The traversed items counter holder field.
+         */
+        private final LongAdder counter = new LongAdder();
+
+        /**
+         * The traversal splits counter holder field.
+         */
+        private final LongAdder splitter = new LongAdder();
+
+        /**
+         * Return the given {@link Spliterator}, counting the traversed items and the splits into this event.
+         *
+         * @param spliterator the given {@link Spliterator}
+         * @param <V> the type of item values
+         * @return the given {@link Spliterator}, counting the traversed items and the splits
+         */
+        <V> Spliterator<V> counting(Spliterator<V> spliterator) {
+            splitter.increment(); return new Spliterator<V>() {
+                @Override public boolean tryAdvance(Consumer<? super V> action) {
+                    return spliterator.tryAdvance(value -> { counter.increment(); action.accept(value); }); }
+                @Override public Spliterator<V> trySplit() {
+                    Spliterator<V> split = spliterator.trySplit(); return split == null ? null : counting(split); }
+                @Override public long estimateSize() {
+                    return spliterator.estimateSize(); }
+                @Override public int characteristics() {
+                    return spliterator.characteristics(); }
+                @Override public Comparator<? super V> getComparator() {
+                    return spliterator.getComparator(); }
+            };
+        }
+
+        /**
+         * End and commit this event.
+         */
+        void complete() {
+            end(); items = counter.sum(); splits = splitter.sum(); commit();
+        }
+    }
+
+    /**
+     * The {@link CatchTraversable} caught exception event.
+     */
+    @Name("org.moodminds.traverse.Catch")
+    @Label("Traversal Catch")
+    @Category("Traverse")
+    @Description("Exception caught in a traversal")
+    static final class CatchEvent extends Event {
+
+        @Label("Exception")
+        String exception;
+
+        @Label("Message")
+        String message;
+    }
+
+    /**
+     * The {@link CatchTraversable} retry event.
+     */
+    @Name("org.moodminds.traverse.Retry")
+    @Label("Traversal Retry")
+    @Category("Traverse")
+    @Description("Retry of a failed traversal")
+    static final class RetryEvent extends Event {
+
+        @Label("Exception")
+        String exception;
+
+        @Label("Attempt")
+        long attempt;
+    }
+
+    /**
+     * The {@link SortedTraversable} materialization event.
+     */
+    @Name("org.moodminds.traverse.Sort")
+    @Label("Sort Materialization")
+    @Category("Traverse")
+    @Description("Collecting and sorting of the items of a source")
+    static final class SortEvent extends Event {
+
+        @Label("Size")
+        long size;
+
+        /**
+         * End and commit this event with the given materialized size.
+         *
+         * @param size the given materialized size
+         */
+        void complete(long size) {
+            end(); this.size = size; commit();
+        }
+    }
+
+    /**
+     * The {@link UniqueTraversable} seen values set growth event.
+     */
+    @Name("org.moodminds.traverse.Unique")
+    @Label("Unique Set Growth")
+    @Category("Traverse")
+    @Description("Growth of the seen values set of a uniqueness filter")
+    static final class UniqueEvent extends Event {
+
+        @Label("Size")
+        long size;
+    }
+}
@@ -0,0 +1,294 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.function.Evaluable1Throwing1;
+import org.moodminds.function.Testable1Throwing1;
+import org.moodminds.traverse.context.ContextKey;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.format;
+import static java.lang.System.identityHashCode;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableCollection;
+import static org.moodminds.sneaky.Sneak.sneak;
+import static org.moodminds.traverse.context.ContextKey.key;
+
+/**
+ * An opt-in registry of the per-operator traversal metrics: the item counts, the filter pass counts, the time spent
+ * in the user functions and the completion, breach and failure outcomes, kept in striped {@link LongAdder} counters,
+ * so the parallel traversals do not contend.
+ * <p>
+ * The metrics are enabled for a traversal by the registry in the {@link Association} context by the {@link #METRICS}
+ * key, or otherwise by the {@link #global(TraverseMetrics) global} registry. When neither is present,
+ * the operators run their regular code, checking the context once per traversal.
+ * <p>
+ * The registry references the operator instances weakly, by identity, so it does not retain the traversed pipelines
+ * and their captured functions: the {@link Stats} of an operator no longer reachable are dropped from the registry.
+ */
+public class TraverseMetrics {
+
+    /**
+     * The {@link TraverseMetrics} registry context key.
+     */
+    public static final ContextKey<TraverseMetrics> METRICS = key("metrics");
+
+    /**
+     * The global {@link TraverseMetrics} registry holder field, {@code null} if disabled.
+     */
+    private static volatile TraverseMetrics global;
+
+    /**
+     * The {@link Stats} by weakly referenced operator instance holder field.
+     */
+    private final ConcurrentMap<Operator, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link ReferenceQueue} of the collected operator instances holder field.
+     */
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * Construct the object.
+     */
+    protected TraverseMetrics() {}
+
+    /**
+     * Return the {@link Stats} of all the operators traversed so far and still reachable.
+     *
+     * @return the {@link Stats} of all the operators traversed so far and still reachable
+     */
+    public Collection<Stats> stats() {
+        return unmodifiableCollection(new ArrayList<>(stats.values()));
+    }
+
+    /**
+     * Return the {@link Stats} of the given operator instance, creating it if necessary.
+     *
+     * @param operator the given operator instance
+     * @return the {@link Stats} of the given operator instance
+     */
+    Stats stats(Object operator) {
+        for (Reference<?> reference; (reference = collected.poll()) != null; )
+            stats.remove(reference);
+        return stats.computeIfAbsent(new Operator(operator, collected), key -> new Stats(operator));
+    }
+
+
+    /**
+     * The weak identity key of an operator instance.
+     */
+    private static final class Operator extends WeakReference<Object> {
+
+        /**
+         * The identity hash code of the operator instance holder field.
+         */
+        private final int hash;
+
+        /**
+         * Construct the object with the given operator instance and {@link ReferenceQueue}.
+         *
+         * @param operator the given operator instance
+         * @param queue the given {@link ReferenceQueue}
+         */
+        Operator(Object operator, ReferenceQueue<Object> queue) {
+            super(operator, queue); this.hash = identityHashCode(operator);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            Object operator; return this == obj || obj instanceof Operator
+                    && (operator = get()) != null && operator == ((Operator) obj).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+
+    /**
+     * The metrics of a single operator instance.
+     */
+    public static class Stats {
+
+        /**
+         * The operator name holder field.
+         */
+        private final String operator;
+
+        /**
+         * The counters holder fields.
+         */
+        private final LongAdder items = new LongAdder(), passed = new LongAdder(), nanos = new LongAdder(),
+                completed = new LongAdder(), breached = new LongAdder(), failed = new LongAdder();
+
+        /**
+         * Construct the object with the given operator instance.
+         *
+         * @param operator the given operator instance
+         */
+        Stats(Object operator) {
+            this.operator = TraversePlan.name(operator);
+        }
+
+        /**
+         * Return the operator name.
+         *
+         * @return the operator name
+         */
+        public String operator() { return operator; }
+
+        /**
+         * Return the number of items passed to the user function.
+         *
+         * @return the number of items passed to the user function
+         */
+        public long items() { return items.sum(); }
+
+        /**
+         * Return the number of items passed by the filter, or the number of mapped items.
+         *
+         * @return the number of items passed by the filter, or the number of mapped items
+         */
+        public long passed() { return passed.sum(); }
+
+        /**
+         * Return the time spent in the user function in nanoseconds.
+         *
+         * @return the time spent in the user function in nanoseconds
+         */
+        public long nanos() { return nanos.sum(); }
+
+        /**
+         * Return the number of completed traversals.
+         *
+         * @return the number of completed traversals
+         */
+        public long completed() { return completed.sum(); }
+
+        /**
+         * Return the number of breached traversals.
+         *
+         * @return the number of breached traversals
+         */
+        public long breached() { return breached.sum(); }
+
+        /**
+         * Return the number of failed traversals.
+         *
+         * @return the number of failed traversals
+         */
+        public long failed() { return failed.sum(); }
+
+        /**
+         * Return the given {@link Evaluable1Throwing1} user function, counting and timing its invocations.
+         *
+         * @param function the given {@link Evaluable1Throwing1} user function
+         * @param <S> the type of the function argument
+         * @param <V> the type of the function result
+         * @param <E> the type of the function exception
+         * @return the given {@link Evaluable1Throwing1} user function, counting and timing its invocations
+         */
+        <S, V, E extends Exception> Evaluable1Throwing1<S, V, E> timed(Evaluable1Throwing1<? super S, ? extends V, ? extends E> function) {
+            return value -> {
+                long start = nanoTime(); items.increment();
+                try { V result = function.eval(value); passed.increment(); return result; }
+                finally { nanos.add(nanoTime() - start); }
+            };
+        }
+
+        /**
+         * Return the given {@link Testable1Throwing1} user predicate, counting, timing and recording its passes.
+         *
+         * @param predicate the given {@link Testable1Throwing1} user predicate
+         * @param <V> the type of the predicate argument
+         * @param <E> the type of the predicate exception
+         * @return the given {@link Testable1Throwing1} user predicate, counting, timing and recording its passes
+         */
+        <V, E extends Exception> Testable1Throwing1<V, E> tested(Testable1Throwing1<? super V, ? extends E> predicate) {
+            return value -> {
+                long start = nanoTime(); items.increment();
+                try { boolean pass = predicate.test(value); if (pass) passed.increment(); return pass; }
+                finally { nanos.add(nanoTime() - start); }
+            };
+        }
+
+        /**
+         * Record the given traversal outcome.
+         *
+         * @param complete the given traversal completion flag
+         * @return the given traversal completion flag
+         */
+        boolean outcome(boolean complete) {
+            (complete ? completed : breached).increment(); return complete;
+        }
+
+        /**
+         * Record the traversal failure and rethrow the given exception.
+         *
+         * @param ex the given exception
+         * @param <R> the type of the pretended result
+         * @return never returns normally
+         */
+        <R> R failure(Throwable ex) {
+            failed.increment(); return sneak(ex);
+        }
+
+        @Override
+        public String toString() {
+            return format("%s[items=%d, passed=%d, nanos=%d, completed=%d, breached=%d, failed=%d]",
+                    operator, items(), passed(), nanos(), completed(), breached(), failed());
+        }
+    }
+
+
+    /**
+     * Return the {@link Stats} of the given operator instance in the registry enabled for the traversal
+     * with the given {@link Association} context, or {@code null} if the metrics are disabled.
+     *
+     * @param operator the given operator instance
+     * @param ctx the given {@link Association} context
+     * @return the {@link Stats} of the given operator instance, or {@code null} if the metrics are disabled
+     */
+    static Stats stats(Object operator, Association<?, ?, ?> ctx) {
+        TraverseMetrics metrics = ctx.containsKey(METRICS) ? METRICS.get(ctx) : global;
+        return metrics != null ? metrics.stats(operator) : null;
+    }
+
+    /**
+     * Return new empty {@link TraverseMetrics} registry.
+     *
+     * @return new empty {@link TraverseMetrics} registry
+     */
+    public static TraverseMetrics metrics() {
+        return new TraverseMetrics();
+    }
+
+    /**
+     * Return the global {@link TraverseMetrics} registry, or {@code null} if disabled.
+     *
+     * @return the global {@link TraverseMetrics} registry, or {@code null} if disabled
+     */
+    public static TraverseMetrics global() {
+        return global;
+    }
+
+    /**
+     * Set the given global {@link TraverseMetrics} registry, enabling the metrics for all the traversals
+     * without the context registry, or disable it by {@code null}.
+     *
+     * @param metrics the given global {@link TraverseMetrics} registry, or {@code null} to disable
+     */
+    public static void global(TraverseMetrics metrics) {
+        global = metrics;
+    }
+}
@@ -0,0 +1,245 @@
+package org.moodminds.traverse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.stream;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The description of a {@link Traversable} operator tree, as returned by the {@link Traversable#describe()}:
+ * each node names its operator, marks its {@link Kind} and rough {@link Memory} class and lists the plans
+ * of its sources, so the stateful and materializing stages of a composed pipeline can be found without
+ * traversing it. The operators rewrite such trees by the {@link Traversable#optimize()}.
+ */
+public class TraversePlan {
+
+    /**
+     * The operator name holder field.
+     */
+    private final String operator;
+
+    /**
+     * The operator {@link Kind} holder field.
+     */
+    private final Kind kind;
+
+    /**
+     * The operator {@link Memory} class holder field.
+     */
+    private final Memory memory;
+
+    /**
+     * The source plans holder field.
+     */
+    private final List<TraversePlan> sources;
+
+    /**
+     * Construct the object with the given operator name, {@link Kind}, {@link Memory} class and source plans.
+     *
+     * @param operator the given operator name
+     * @param kind the given operator {@link Kind}
+     * @param memory the given operator {@link Memory} class
+     * @param sources the given source plans
+     * @throws NullPointerException if any of the given arguments is {@code null}
+     */
+    protected TraversePlan(String operator, Kind kind, Memory memory, List<TraversePlan> sources) {
+        this.operator = requireNonNull(operator); this.kind = requireNonNull(kind); this.memory = requireNonNull(memory);
+        this.sources = unmodifiableList(sources);
+    }
+
+    /**
+     * Return the operator name.
+     *
+     * @return the operator name
+     */
+    public String operator() { return operator; }
+
+    /**
+     * Return the operator {@link Kind}.
+     *
+     * @return the operator {@link Kind}
+     */
+    public Kind kind() { return kind; }
+
+    /**
+     * Return the operator {@link Memory} class.
+     *
+     * @return the operator {@link Memory} class
+     */
+    public Memory memory() { return memory; }
+
+    /**
+     * Return the source plans.
+     *
+     * @return the source plans
+     */
+    public List<TraversePlan> sources() { return sources; }
+
+    /**
+     * Return the {@link Stream} of this plan node and all the nodes of its sources, depth first.
+     *
+     * @return the {@link Stream} of this plan node and all the nodes of its sources
+     */
+    public Stream<TraversePlan> nodes() {
+        return Stream.concat(Stream.of(this), sources.stream().flatMap(TraversePlan::nodes));
+    }
+
+    /**
+     * Return the largest {@link Memory} class of this plan node and all the nodes of its sources.
+     *
+     * @return the largest {@link Memory} class of this plan node and all the nodes of its sources
+     */
+    public Memory footprint() {
+        return nodes().map(TraversePlan::memory).max(Enum::compareTo).orElse(memory);
+    }
+
+    /**
+     * Return a copy of this plan node with the given {@link Kind} and {@link Memory} class.
+     *
+     * @param kind the given operator {@link Kind}
+     * @param memory the given operator {@link Memory} class
+     * @return a copy of this plan node with the given {@link Kind} and {@link Memory} class
+     * @throws NullPointerException if any of the given arguments is {@code null}
+     */
+    public TraversePlan as(Kind kind, Memory memory) {
+        return new TraversePlan(operator, kind, memory, sources);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(); render(builder, ""); return builder.toString();
+    }
+
+    /**
+     * Render this plan node and its sources into the given {@link StringBuilder}, one node per line.
+     *
+     * @param builder the given {@link StringBuilder}
+     * @param indent the given line indentation
+     */
+    private void render(StringBuilder builder, String indent) {
+        builder.append(indent).append(operator).append(" [").append(kind).append(", ").append(memory).append(']');
+        for (TraversePlan source : sources)
+            source.render(builder.append('\n'), indent + "  ");
+    }
+
+
+    /**
+     * The kind of traversal operator.
+     */
+    public enum Kind {
+
+        /**
+         * Processes each item independently of the others.
+         */
+        STATELESS,
+
+        /**
+         * Keeps a per-traversal state, depending on the previous items.
+         */
+        STATEFUL,
+
+        /**
+         * Collects all the source items before emitting anything.
+         */
+        MATERIALIZING,
+
+        /**
+         * May end the traversal before the source is exhausted.
+         */
+        SHORT_CIRCUITING
+    }
+
+    /**
+     * The rough memory class of a traversal operator, in terms of the number of the source items.
+     */
+    public enum Memory {
+
+        /**
+         * Constant memory.
+         */
+        CONSTANT,
+
+        /**
+         * Memory bounded by the operator configuration, e.g. a buffer or sample size.
+         */
+        BOUNDED,
+
+        /**
+         * Memory growing with the number of items.
+         */
+        LINEAR
+    }
+
+
+    /**
+     * Return a plan node of the given operator name, {@link Kind} and {@link Memory} class,
+     * with the plans of the given {@link TraverseSupport} sources.
+     *
+     * @param operator the given operator name
+     * @param kind the given operator {@link Kind}
+     * @param memory the given operator {@link Memory} class
+     * @param sources the given {@link TraverseSupport} sources
+     * @return a plan node of the given operator name, {@link Kind} and {@link Memory} class
+     * @throws NullPointerException if any of the given arguments is {@code null}
+     */
+    public static TraversePlan plan(String operator, Kind kind, Memory memory, TraverseSupport<?, ?>... sources) {
+        return new TraversePlan(operator, kind, memory, stream(sources).map(TraversePlan::plan).collect(toList()));
+    }
+
+    /**
+     * Return a plan node of the given operator instance, named by its class, with the given {@link Kind}
+     * and {@link Memory} class and the plans of the given {@link TraverseSupport} sources.
+     *
+     * @param operator the given operator instance
+     * @param kind the given operator {@link Kind}
+     * @param memory the given operator {@link Memory} class
+     * @param sources the given {@link TraverseSupport} sources
+     * @return a plan node of the given operator instance
+     * @throws NullPointerException if any of the given arguments is {@code null}
+     */
+    public static TraversePlan plan(Object operator, Kind kind, Memory memory, TraverseSupport<?, ?>... sources) {
+        return plan(name(operator), kind, memory, sources);
+    }
+
+    /**
+     * Return the plan of the given {@link TraverseSupport} source: its {@link Traversable#describe() description}
+     * if it is a {@link Traversable}, or otherwise an opaque {@link Kind#STATELESS stateless} leaf node.
+     *
+     * @param source the given {@link TraverseSupport} source
+     * @return the plan of the given {@link TraverseSupport} source
+     * @throws NullPointerException if the given {@link TraverseSupport} source is {@code null}
+     */
+    public static TraversePlan plan(TraverseSupport<?, ?> source) {
+        return source instanceof Traversable ? ((Traversable<?, ?>) source).describe()
+                : plan(requireNonNull(source), Kind.STATELESS, Memory.CONSTANT);
+    }
+
+    /**
+     * Return the {@link Traversable#optimize() optimized} given {@link TraverseSupport} source
+     * if it is a {@link Traversable}, or otherwise the source itself.
+     *
+     * @param source the given {@link TraverseSupport} source
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return the optimized given {@link TraverseSupport} source, or the source itself
+     */
+    static <V, E extends Exception> TraverseSupport<? extends V, ? extends E> optimize(TraverseSupport<? extends V, ? extends E> source) {
+        return source instanceof Traversable ? ((Traversable<? extends V, ? extends E>) source).optimize() : source;
+    }
+
+    /**
+     * Return the name of the given operator instance by its class, climbing out of the anonymous classes.
+     *
+     * @param operator the given operator instance
+     * @return the name of the given operator instance
+     */
+    static String name(Object operator) {
+        Class<?> type = operator.getClass();
+        while (type.isAnonymousClass())
+            type = type.getSuperclass() != Object.class ? type.getSuperclass() : type.getInterfaces()[0];
+        return type.getSimpleName();
+    }
+}
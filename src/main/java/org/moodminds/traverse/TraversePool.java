@@ -0,0 +1,480 @@
+package org.moodminds.traverse;
+
+import org.moodminds.elemental.Association;
+import org.moodminds.sneaky.Cast;
+import org.moodminds.traverse.context.ContextKey;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.util.Objects.requireNonNull;
+import static java.util.Objects.requireNonNullElse;
+import static org.moodminds.traverse.UniqueTraversable.NULL;
+import static org.moodminds.traverse.context.ContextKey.key;
+
+/**
+ * A slab-style pool of the reference-counted {@link Chunk}s of temporary storage, the item arrays of
+ * the power-of-two lengths and the {@link ByteBuffer}s, reused across the traversals instead of
+ * being allocated per traversal. The {@link SortedTraversable} materializes its items into the pooled
+ * arrays, and the {@link Traversable#write} resolvers encode into the pooled buffers.
+ * <p>
+ * A chunk is returned to the pool when its last reference is {@link Chunk#release() released}, unless
+ * the estimated size of the retained chunks would exceed the pool capacity, in which case it is left
+ * to the garbage collector. The chunks that are never released are just not reused.
+ * <p>
+ * The pool of a traversal is the one in the {@link Association} context by the {@link #POOL} key,
+ * or otherwise the {@link #global(TraversePool) global} pool. The global pool is opt-in: it is of zero capacity
+ * by default, retaining nothing, so no storage is kept for the life of the JVM unless it is set explicitly,
+ * e.g. to the {@code pool(CAPACITY)}. The buffers a pool could never retain, e.g. all of them in a pool of zero
+ * capacity, are allocated on the heap rather than directly, so as not to allocate native memory for single use.
+ */
+public class TraversePool {
+
+    /**
+     * The {@link TraversePool} context key.
+     */
+    public static final ContextKey<TraversePool> POOL = key("pool");
+
+    /**
+     * The suggested pool capacity in bytes.
+     */
+    public static final long CAPACITY = 1L << 26;
+
+    /**
+     * The estimated size of an array element reference in bytes.
+     */
+    private static final int REFERENCE = 8;
+
+    /**
+     * The minimal pooled array length.
+     */
+    private static final int MINIMUM = 16;
+
+    /**
+     * The maximal pooled array length.
+     */
+    private static final int MAXIMUM = 1 << 30;
+
+    /**
+     * The maximal array length the JVMs allocate.
+     */
+    private static final int LARGEST = Integer.MAX_VALUE - 8;
+
+    /**
+     * The global {@link TraversePool} holder field.
+     */
+    private static volatile TraversePool global = new TraversePool(0L);
+
+    /**
+     * The capacity in bytes holder field.
+     */
+    private final long capacity;
+
+    /**
+     * The estimated size of the retained chunks in bytes holder field.
+     */
+    private final AtomicLong retained = new AtomicLong();
+
+    /**
+     * The retained arrays by length holder field.
+     */
+    private final ConcurrentMap<Integer, Queue<Object[]>> arrays = new ConcurrentHashMap<>();
+
+    /**
+     * The retained direct buffers by capacity holder field.
+     */
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * The counters holder fields.
+     */
+    private final LongAdder acquired = new LongAdder(), reused = new LongAdder(),
+            released = new LongAdder(), discarded = new LongAdder();
+
+    /**
+     * Construct the object with the given capacity in bytes.
+     *
+     * @param capacity the given capacity in bytes
+     * @throws IllegalArgumentException if the given capacity is negative
+     */
+    protected TraversePool(long capacity) {
+        if (capacity < 0L)
+            throw new IllegalArgumentException(format("Negative pool capacity: %d.", capacity));
+        this.capacity = capacity;
+    }
+
+    /**
+     * Acquire a {@link Chunk} of an item array of at least the given length, rounded up to a power of two.
+     *
+     * @param length the given minimal array length
+     * @return a {@link Chunk} of an item array of at least the given length
+     * @throws IllegalArgumentException if the given length is negative or exceeds the largest power-of-two array
+     */
+    public Chunk<Object[]> array(int length) {
+        if (length < 0 || length > MAXIMUM)
+            throw new IllegalArgumentException(format("Illegal array length: %d.", length));
+        int size = max(MINIMUM, length > 1 ? highestOneBit(length - 1) << 1 : 1);
+        Object[] array = acquire(arrays, size, (long) size * REFERENCE);
+        return new Chunk<>(array != null ? array : new Object[size], (long) size * REFERENCE);
+    }
+
+    /**
+     * Acquire a {@link Chunk} of a cleared big-endian {@link ByteBuffer} of the given capacity,
+     * direct if this pool could retain it, or heap otherwise.
+     *
+     * @param capacity the given buffer capacity
+     * @return a {@link Chunk} of a cleared big-endian {@link ByteBuffer} of the given capacity
+     * @throws IllegalArgumentException if the given capacity is negative
+     */
+    public Chunk<ByteBuffer> buffer(int capacity) {
+        ByteBuffer buffer = acquire(buffers, capacity, capacity);
+        return new Chunk<>(buffer != null ? buffer : capacity > this.capacity ? allocate(capacity) : allocateDirect(capacity), capacity);
+    }
+
+    /**
+     * Return the capacity in bytes.
+     *
+     * @return the capacity in bytes
+     */
+    public long capacity() { return capacity; }
+
+    /**
+     * Return the estimated size of the retained chunks in bytes.
+     *
+     * @return the estimated size of the retained chunks in bytes
+     */
+    public long retained() { return retained.get(); }
+
+    /**
+     * Return the number of acquired chunks.
+     *
+     * @return the number of acquired chunks
+     */
+    public long acquired() { return acquired.sum(); }
+
+    /**
+     * Return the number of acquired chunks reused from the pool.
+     *
+     * @return the number of acquired chunks reused from the pool
+     */
+    public long reused() { return reused.sum(); }
+
+    /**
+     * Return the number of released chunks.
+     *
+     * @return the number of released chunks
+     */
+    public long released() { return released.sum(); }
+
+    /**
+     * Return the number of released chunks left to the garbage collector for the exceeded capacity.
+     *
+     * @return the number of released chunks left to the garbage collector
+     */
+    public long discarded() { return discarded.sum(); }
+
+    /**
+     * Acquire a retained chunk value of the given size class from the given retained values, if any.
+     *
+     * @param pool the given retained values by size class
+     * @param size the given size class
+     * @param bytes the given estimated chunk size in bytes
+     * @param <A> the type of chunk values
+     * @return a retained chunk value of the given size class, or {@code null} if none
+     */
+    private <A> A acquire(ConcurrentMap<Integer, Queue<A>> pool, int size, long bytes) {
+        if (size < 0)
+            throw new IllegalArgumentException(format("Negative chunk size: %d.", size));
+        acquired.increment(); Queue<A> queue = pool.get(size); A value = queue != null ? queue.poll() : null;
+        if (value != null) { retained.addAndGet(-bytes); reused.increment(); }
+        return value;
+    }
+
+    /**
+     * Retain the given released chunk value of the given size class in the given retained values,
+     * unless it would exceed the capacity.
+     *
+     * @param pool the given retained values by size class
+     * @param size the given size class
+     * @param value the given chunk value
+     * @param bytes the given estimated chunk size in bytes
+     * @param <A> the type of chunk values
+     */
+    private <A> void retain(ConcurrentMap<Integer, Queue<A>> pool, int size, A value, long bytes) {
+        released.increment();
+        for (long current = retained.get(); ; current = retained.get()) {
+            if (current + bytes > capacity) { discarded.increment(); return; }
+            if (retained.compareAndSet(current, current + bytes)) break;
+        }
+        pool.computeIfAbsent(size, unused -> new ConcurrentLinkedQueue<>()).offer(value);
+    }
+
+    /**
+     * Return the released chunk value to this pool.
+     *
+     * @param value the given chunk value
+     * @param bytes the given estimated chunk size in bytes
+     */
+    private void recycle(Object value, long bytes) {
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value; Arrays.fill(array, null); retain(arrays, array.length, array, bytes);
+        } else {
+            ByteBuffer buffer = (ByteBuffer) value; retain(buffers, buffer.capacity(), buffer.clear().order(BIG_ENDIAN), bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format("TraversePool[capacity=%d, retained=%d, acquired=%d, reused=%d, released=%d, discarded=%d]",
+                capacity, retained(), acquired(), reused(), released(), discarded());
+    }
+
+
+    /**
+     * A reference-counted chunk of pooled storage, returned to its pool when the last reference is released.
+     *
+     * @param <A> the type of the chunk value
+     */
+    public final class Chunk<A> {
+
+        /**
+         * The chunk value holder field.
+         */
+        private final A value;
+
+        /**
+         * The estimated chunk size in bytes holder field, negative if the chunk is not pooled.
+         */
+        private final long bytes;
+
+        /**
+         * The reference count holder field.
+         */
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        /**
+         * Construct the object with the given chunk value and estimated size in bytes, referenced once.
+         *
+         * @param value the given chunk value
+         * @param bytes the given estimated chunk size in bytes
+         */
+        private Chunk(A value, long bytes) {
+            this.value = value; this.bytes = bytes;
+        }
+
+        /**
+         * Return the chunk value.
+         *
+         * @return the chunk value
+         * @throws IllegalStateException if the chunk is released
+         */
+        public A get() {
+            if (references.get() <= 0)
+                throw new IllegalStateException("Released chunk.");
+            return value;
+        }
+
+        /**
+         * Add a reference to this chunk.
+         *
+         * @return this chunk
+         * @throws IllegalStateException if the chunk is released
+         */
+        public Chunk<A> retain() {
+            for (int count = references.get(); ; count = references.get()) {
+                if (count <= 0)
+                    throw new IllegalStateException("Released chunk.");
+                if (references.compareAndSet(count, count + 1)) return this;
+            }
+        }
+
+        /**
+         * Release a reference to this chunk, returning it to the pool when it is the last one.
+         *
+         * @throws IllegalStateException if the chunk is released
+         */
+        public void release() {
+            int count = references.decrementAndGet();
+            if (count < 0)
+                throw new IllegalStateException("Released chunk.");
+            if (count == 0 && bytes >= 0L) recycle(value, bytes);
+        }
+    }
+
+
+    /**
+     * A growable sequence of items stored in the pooled arrays, as used by the buffering operators.
+     *
+     * @param <V> the type of item values
+     */
+    static final class Items<V> {
+
+        /**
+         * The {@link TraversePool} holder field.
+         */
+        private final TraversePool pool;
+
+        /**
+         * The current array {@link Chunk} holder field, {@code null} while empty.
+         */
+        private Chunk<Object[]> chunk;
+
+        /**
+         * The number of items holder field.
+         */
+        private int size;
+
+        /**
+         * Construct the object with the given {@link TraversePool}.
+         *
+         * @param pool the given {@link TraversePool}
+         */
+        Items(TraversePool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Add the given item value.
+         *
+         * @param value the given item value
+         */
+        void add(V value) {
+            reserve(1)[size++] = value;
+        }
+
+        /**
+         * Append the items of the given other sequence and release it.
+         *
+         * @param other the given other sequence
+         * @return this sequence
+         */
+        Items<V> merge(Items<V> other) {
+            if (other.size != 0) {
+                System.arraycopy(other.chunk.get(), 0, reserve(other.size), size, other.size); size += other.size; }
+            other.release(); return this;
+        }
+
+        /**
+         * Sort the items by the given {@link Comparator}.
+         *
+         * @param comparator the given {@link Comparator}
+         */
+        void sort(Comparator<? super V> comparator) {
+            if (size > 1) Arrays.sort(Cast.<V[]>cast(chunk.get()), 0, size, comparator);
+        }
+
+        /**
+         * Drop the repeated items, keeping the first ones.
+         */
+        void distinct() {
+            if (size < 2) return;
+            Object[] array = chunk.get(); Set<Object> seen = new HashSet<>(); int count = 0;
+            for (int i = 0; i < size; i++)
+                if (seen.add(requireNonNullElse(array[i], NULL))) array[count++] = array[i];
+            Arrays.fill(array, count, size, null); size = count;
+        }
+
+        /**
+         * Return the number of items.
+         *
+         * @return the number of items
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Return the {@link Stream} of the items, releasing the array on the stream close.
+         *
+         * @return the {@link Stream} of the items
+         */
+        Stream<V> stream() {
+            return chunk == null ? Stream.empty() : Arrays.stream(Cast.<V[]>cast(chunk.get()), 0, size).onClose(this::release);
+        }
+
+        /**
+         * Release the array.
+         */
+        void release() {
+            Chunk<Object[]> chunk = this.chunk; this.chunk = null; size = 0;
+            if (chunk != null) chunk.release();
+        }
+
+        /**
+         * Ensure the room for the given number of more items, moving them to a larger array if necessary,
+         * the arrays beyond the maximal pooled length being allocated unpooled.
+         *
+         * @param count the given number of more items
+         * @return the array with the room for the given number of more items
+         */
+        private Object[] reserve(int count) {
+            if (chunk != null && size + count <= chunk.get().length) return chunk.get();
+            if (size + count < 0 || size + count > LARGEST)
+                throw new OutOfMemoryError("Required array size too large.");
+            int length = (int) min(max(size + count, chunk != null ? (long) chunk.get().length << 1 : 0L), LARGEST);
+            Chunk<Object[]> grown = length <= MAXIMUM ? pool.array(length) : pool.new Chunk<>(new Object[length], -1L);
+            if (chunk != null) { System.arraycopy(chunk.get(), 0, grown.get(), 0, size); chunk.release(); }
+            chunk = grown; return grown.get();
+        }
+    }
+
+
+    /**
+     * Return the {@link TraversePool} of the traversal with the given {@link Association} context.
+     *
+     * @param ctx the given {@link Association} context
+     * @return the {@link TraversePool} of the traversal with the given {@link Association} context
+     */
+    static TraversePool pool(Association<?, ?, ?> ctx) {
+        return ctx.containsKey(POOL) ? POOL.get(ctx) : global;
+    }
+
+    /**
+     * Return new empty {@link TraversePool} of the given capacity in bytes.
+     *
+     * @param capacity the given capacity in bytes
+     * @return new empty {@link TraversePool} of the given capacity in bytes
+     * @throws IllegalArgumentException if the given capacity is negative
+     */
+    public static TraversePool pool(long capacity) {
+        return new TraversePool(capacity);
+    }
+
+    /**
+     * Return the global {@link TraversePool}.
+     *
+     * @return the global {@link TraversePool}
+     */
+    public static TraversePool global() {
+        return global;
+    }
+
+    /**
+     * Set the given global {@link TraversePool}, used by all the traversals without the context pool;
+     * a pool of zero capacity disables the reuse.
+     *
+     * @param pool the given global {@link TraversePool}
+     * @throws NullPointerException if the given {@link TraversePool} is {@code null}
+     */
+    public static void global(TraversePool pool) {
+        global = requireNonNull(pool);
+    }
+}
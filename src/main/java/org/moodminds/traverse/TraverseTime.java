@@ -0,0 +1,71 @@
+package org.moodminds.traverse;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * The time helpers shared by the timing traversals and policies.
+ */
+final class TraverseTime {
+
+    /**
+     * Prevent the instantiation.
+     */
+    private TraverseTime() {}
+
+    /**
+     * Return the given {@link Duration} in nanoseconds, saturated to {@link Long#MAX_VALUE}.
+     *
+     * @param duration the given {@link Duration}
+     * @return the given {@link Duration} in nanoseconds
+     */
+    static long nanos(Duration duration) {
+        try { return duration.toNanos(); } catch (ArithmeticException ex) { return Long.MAX_VALUE; }
+    }
+
+    /**
+     * Park the current thread until the given {@link System#nanoTime()} deadline.
+     *
+     * @param deadline the given {@link System#nanoTime()} deadline
+     * @return {@code true} if waited until the deadline, {@code false} if interrupted
+     */
+    static boolean park(long deadline) {
+        for (long remaining = deadline - nanoTime(); remaining > 0L; remaining = deadline - nanoTime()) {
+            parkNanos(remaining);
+            if (currentThread().isInterrupted())
+                return false;
+        } return true;
+    }
+
+    /**
+     * Schedule the given task to run once after the given delay on the shared daemon timer thread.
+     *
+     * @param task the given task
+     * @param delay the given delay in nanoseconds
+     * @return the {@link ScheduledFuture} of the scheduled task
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return Timer.EXECUTOR.schedule(task, delay, NANOSECONDS);
+    }
+
+
+    /**
+     * The lazily started shared timer holder.
+     */
+    private static final class Timer {
+
+        /**
+         * The single daemon thread timer executor, removing the cancelled tasks at once.
+         */
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "traverse-timer"); thread.setDaemon(true); return thread; });
+
+        static { EXECUTOR.setRemoveOnCancelPolicy(true); }
+    }
+}
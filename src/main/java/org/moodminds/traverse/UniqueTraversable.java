@@ -1,13 +1,22 @@
 package org.moodminds.traverse;
 
 import org.moodminds.function.Testable1Throwing1;
+import org.moodminds.sneaky.Cast;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static java.util.Collections.newSetFromMap;
+import static java.util.Objects.requireNonNull;
 import static java.util.Objects.requireNonNullElse;
+import static org.moodminds.sneaky.Cast.cast;
+import static org.moodminds.traverse.TraversePlan.Kind.STATEFUL;
+import static org.moodminds.traverse.TraversePlan.Memory.LINEAR;
 
 /**
  * A {@link Traversable} implementation that ensures uniqueness among emitted items.
@@ -36,7 +45,267 @@ public class UniqueTraversable<V, E extends Exception> extends FilterTraversable
     protected Testable1Throwing1<? super V, ? extends E> filter(TraverseMethod method) {
         Set<Object> seen = method.isSequence() ? new HashSet<>()
                 : newSetFromMap(new ConcurrentHashMap<>());
-        return value -> seen.add(requireNonNullElse(value, NULL));
+        if (!TraverseEvents.unique())
+            return value -> seen.add(requireNonNullElse(value, NULL));
+        return value -> {
+            if (!seen.add(requireNonNullElse(value, NULL))) return false;
+            int size = seen.size(); if ((size & size - 1) == 0) TraverseEvents.unique(size); return true;
+        };
+    }
+
+
+    /**
+     * A {@link UniqueTraversable} that ensures uniqueness among emitted items by their primitive {@code long}
+     * or {@code int} keys, kept in the open-addressing {@link KeySet}s instead of the sets of boxed items.
+     *
+     * @param <V> the type of item value
+     * @param <E> the type of traversal exception
+     */
+    private static class KeyedTraversable<V, E extends Exception> extends UniqueTraversable<V, E> {
+
+        /**
+         * The {@link ToLongFunction} item key function holder field.
+         */
+        private final ToLongFunction<? super V> key;
+
+        /**
+         * The {@code int} keys flag holder field.
+         */
+        private final boolean narrow;
+
+        /**
+         * Construct the object with the given {@link TraverseSupport} source, {@link ToLongFunction} item key function
+         * and {@code int} keys flag.
+         *
+         * @param traversable the given {@link TraverseSupport} source
+         * @param key the given {@link ToLongFunction} item key function
+         * @param narrow the given {@code int} keys flag
+         * @throws NullPointerException if the given {@link TraverseSupport} source or item key function is {@code null}
+         */
+        KeyedTraversable(TraverseSupport<? extends V, ? extends E> traversable, ToLongFunction<? super V> key, boolean narrow) {
+            super(traversable); this.key = requireNonNull(key); this.narrow = narrow;
+        }
+
+        @Override
+        protected Testable1Throwing1<? super V, ? extends E> filter(TraverseMethod method) {
+            KeySet seen = method.isSequence() ? narrow ? new IntSet() : new LongSet()
+                    : new StripedSet(narrow ? IntSet::new : LongSet::new);
+            if (!TraverseEvents.unique())
+                return value -> seen.add(key.applyAsLong(value));
+            return value -> {
+                if (!seen.add(key.applyAsLong(value))) return false;
+                long size = seen.size(); if ((size & size - 1) == 0) TraverseEvents.unique(size); return true;
+            };
+        }
+    }
+
+
+    /**
+     * A set of primitive keys.
+     */
+    abstract static class KeySet {
+
+        /**
+         * Add the given key if absent.
+         *
+         * @param key the given key
+         * @return {@code true} if the given key was absent
+         */
+        abstract boolean add(long key);
+
+        /**
+         * Return the number of keys.
+         *
+         * @return the number of keys
+         */
+        abstract long size();
+
+        /**
+         * Return the mixed hash of the given key, for the Fibonacci hashing by its high bits.
+         *
+         * @param key the given key
+         * @return the mixed hash of the given key
+         */
+        static long mix(long key) {
+            return key * 0x9E3779B97F4A7C15L;
+        }
+    }
+
+    /**
+     * The {@link KeySet} of {@code long} keys in a linear probing table, with the zero key kept aside
+     * as the table marks the empty slots by zero.
+     */
+    static final class LongSet extends KeySet {
+
+        /**
+         * The probing table holder field.
+         */
+        private long[] table = new long[16];
+
+        /**
+         * The table index shift holder field.
+         */
+        private int shift = 64 - 4;
+
+        /**
+         * The number of keys in the table holder field.
+         */
+        private int size;
+
+        /**
+         * The zero key presence flag holder field.
+         */
+        private boolean zero;
+
+        @Override
+        boolean add(long key) {
+            if (key == 0L) { if (zero) return false; return zero = true; }
+            int mask = table.length - 1;
+            for (int i = (int) (mix(key) >>> shift); ; i = i + 1 & mask) {
+                if (table[i] == key) return false;
+                if (table[i] == 0L) { table[i] = key; if (++size > table.length - (table.length >>> 2)) grow(); return true; }
+            }
+        }
+
+        @Override
+        long size() {
+            return zero ? size + 1 : size;
+        }
+
+        /**
+         * Double the table, rehashing the keys.
+         */
+        private void grow() {
+            long[] table = this.table; this.table = new long[table.length << 1]; shift--; int mask = this.table.length - 1;
+            for (long key : table)
+                if (key != 0L) {
+                    int i = (int) (mix(key) >>> shift);
+                    while (this.table[i] != 0L) i = i + 1 & mask;
+                    this.table[i] = key;
+                }
+        }
+    }
+
+    /**
+     * The {@link KeySet} of {@code int} keys in a linear probing table, with the zero key kept aside
+     * as the table marks the empty slots by zero.
+     */
+    static final class IntSet extends KeySet {
+
+        /**
+         * The probing table holder field.
+         */
+        private int[] table = new int[16];
+
+        /**
+         * The table index shift holder field.
+         */
+        private int shift = 64 - 4;
+
+        /**
+         * The number of keys in the table holder field.
+         */
+        private int size;
+
+        /**
+         * The zero key presence flag holder field.
+         */
+        private boolean zero;
+
+        @Override
+        boolean add(long wide) {
+            int key = (int) wide;
+            if (key == 0) { if (zero) return false; return zero = true; }
+            int mask = table.length - 1;
+            for (int i = (int) (mix(key) >>> shift); ; i = i + 1 & mask) {
+                if (table[i] == key) return false;
+                if (table[i] == 0) { table[i] = key; if (++size > table.length - (table.length >>> 2)) grow(); return true; }
+            }
+        }
+
+        @Override
+        long size() {
+            return zero ? size + 1 : size;
+        }
+
+        /**
+         * Double the table, rehashing the keys.
+         */
+        private void grow() {
+            int[] table = this.table; this.table = new int[table.length << 1]; shift--; int mask = this.table.length - 1;
+            for (int key : table)
+                if (key != 0) {
+                    int i = (int) (mix(key) >>> shift);
+                    while (this.table[i] != 0) i = i + 1 & mask;
+                    this.table[i] = key;
+                }
+        }
+    }
+
+    /**
+     * The concurrent {@link KeySet} of lock-striped {@link KeySet}s, chosen by the high bits of the mixed key hash
+     * folded and mixed once more, so that they depend on all the key bits and not on the bits the stripes index
+     * their tables by.
+     */
+    static final class StripedSet extends KeySet {
+
+        /**
+         * The number of stripes.
+         */
+        private static final int STRIPES = 64;
+
+        /**
+         * The stripe index shift of the remixed key hash.
+         */
+        private static final int SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+
+        /**
+         * The stripes holder field.
+         */
+        private final KeySet[] stripes = new KeySet[STRIPES];
+
+        /**
+         * The number of keys holder field, counted without locking the stripes.
+         */
+        private final LongAdder size = new LongAdder();
+
+        /**
+         * Construct the object with the given {@link Supplier} of the stripes.
+         *
+         * @param stripe the given {@link Supplier} of the stripes
+         */
+        StripedSet(Supplier<? extends KeySet> stripe) {
+            for (int i = 0; i < STRIPES; i++)
+                stripes[i] = stripe.get();
+        }
+
+        @Override
+        boolean add(long key) {
+            long hash = mix(key); KeySet stripe = stripes[(int) (mix(hash ^ hash >>> 32) >>> SHIFT)];
+            boolean added; synchronized (stripe) { added = stripe.add(key); }
+            if (added) size.increment(); return added;
+        }
+
+        @Override
+        long size() {
+            return size.sum();
+        }
+    }
+
+    @Override
+    public TraversePlan describe() {
+        return super.describe().as(STATEFUL, LINEAR);
+    }
+
+    @Override
+    public Traversable<V, E> optimize() {
+        if (getClass() != UniqueTraversable.class) return this;
+        TraverseSupport<? extends V, ? extends E> source = TraversePlan.optimize(source());
+        if (source.getClass() == UniqueTraversable.class)
+            return cast(source);
+        if (source.getClass() == SortedTraversable.class)
+            return Cast.<SortedTraversable<V, E>>cast(source).distinct();
+        return source != source() ? new UniqueTraversable<>(source) : this;
     }
 
 
@@ -52,4 +321,35 @@ public class UniqueTraversable<V, E extends Exception> extends FilterTraversable
     public static <V, E extends Exception> Traversable<V, E> unique(TraverseSupport<? extends V, ? extends E> traversable) {
         return new UniqueTraversable<>(traversable);
     }
+
+
+    /**
+     * Return a {@link Traversable} that ensures uniqueness among emitted items by their {@code long} keys
+     * of the given {@link ToLongFunction}, keeping the seen keys in a primitive open-addressing set.
+     *
+     * @param traversable the source traversable
+     * @param key the given {@link ToLongFunction} item key function
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a new {@link Traversable} that ensures uniqueness among emitted items by their {@code long} keys
+     * @throws NullPointerException if the given {@link TraverseSupport} source or item key function is {@code null}
+     */
+    public static <V, E extends Exception> Traversable<V, E> uniqueLong(TraverseSupport<? extends V, ? extends E> traversable, ToLongFunction<? super V> key) {
+        return new KeyedTraversable<>(traversable, key, false);
+    }
+
+    /**
+     * Return a {@link Traversable} that ensures uniqueness among emitted items by their {@code int} keys
+     * of the given {@link ToIntFunction}, keeping the seen keys in a primitive open-addressing set.
+     *
+     * @param traversable the source traversable
+     * @param key the given {@link ToIntFunction} item key function
+     * @param <V> the type of item values
+     * @param <E> the type of traversal exception
+     * @return a new {@link Traversable} that ensures uniqueness among emitted items by their {@code int} keys
+     * @throws NullPointerException if the given {@link TraverseSupport} source or item key function is {@code null}
+     */
+    public static <V, E extends Exception> Traversable<V, E> uniqueInt(TraverseSupport<? extends V, ? extends E> traversable, ToIntFunction<? super V> key) {
+        requireNonNull(key); return new KeyedTraversable<>(traversable, key::applyAsInt, true);
+    }
 }
@@ -0,0 +1,413 @@
+package org.moodminds.traverse.context;
+
+import org.moodminds.elemental.AbstractAssociation;
+import org.moodminds.elemental.AbstractKeyValue;
+import org.moodminds.elemental.Association;
+import org.moodminds.elemental.Container;
+import org.moodminds.elemental.KeyValue;
+import org.moodminds.elemental.OptionalIterator;
+import org.moodminds.elemental.RandomMatch;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.IntStream.range;
+import static org.moodminds.sneaky.Cast.cast;
+
+/**
+ * Implementation of the {@link Association} context, representing an immutable compact array of variables.
+ *
+ * <p>This implementation keeps the key-value pairs in insertion order in a dense array, indexed
+ * by a small open-addressed hash table, and produces modified copies on addition or removal.
+ */
+public class ArrayContext extends AbstractAssociation<Object, Object, KeyValue<?, ?>> implements RandomMatch, Serializable {
+
+    private static final long serialVersionUID = 3816150924861740625L;
+
+    /**
+     * The largest size of the contexts kept as {@link ArrayContext} by the {@code Traversable} context
+     * operations, the larger ones being kept as {@link TrieContext} until they shrink to the half of it.
+     */
+    public static final int THRESHOLD = 32;
+
+    /**
+     * The empty {@link ArrayContext} singleton holder field.
+     */
+    private static final ArrayContext EMPTY = new ArrayContext(new Object[0], new int[1], 0);
+
+    /**
+     * The insertion ordered interleaved keys and values array holder field.
+     */
+    private final Object[] entries;
+
+    /**
+     * The open-addressed hash table of entry positions (shifted by one, zero marks a free slot) holder field.
+     */
+    private final int[] index;
+
+    /**
+     * The context size holder field.
+     */
+    private final int size;
+
+    /**
+     * Construct the object with the given entries array, hash index table and size.
+     *
+     * @param entries the given interleaved keys and values array
+     * @param index the given hash index table
+     * @param size the given context size
+     */
+    private ArrayContext(Object[] entries, int[] index, int size) {
+        this.entries = entries; this.index = index; this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return the non-null value to which the specified key is associated
+     * @throws ClassCastException     {@inheritDoc}
+     * @throws NullPointerException   if the specified key is {@code null}
+     * @throws NoSuchElementException {@inheritDoc}
+     * @param <R> {@inheritDoc}
+     */
+    @Override
+    public <R> R get(Object key) {
+        int position = position(requireNonNull(key));
+        if (position >= 0)
+            return cast(entries[(position << 1) + 1]);
+        throw new NoSuchElementException("No value in context for key: " + key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws ClassCastException   {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return position(requireNonNull(key)) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> keys() {
+        return new KeysContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> values() {
+        return new ValuesContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<KeyValue<?, ?>> iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Spliterator<KeyValue<?, ?>> spliterator() {
+        return stream().spliterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> stream() {
+        return range(0, size).mapToObj(this::entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> parallelStream() {
+        return stream().parallel();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @param value {@inheritDoc}
+     * @param present {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Iterator<KeyValue<?, ?>> iterator(Object key, Object value, boolean present) {
+        return OptionalIterator.iterator(() -> new AbstractKeyValue<>() {
+            @Override public Object getKey() { return key; }
+            @Override public Object getValue() { return value; }
+        }, present);
+    }
+
+    /**
+     * Return new {@link ArrayContext} with the given key associated with the given value.
+     *
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link ArrayContext} with the given key associated with the given value
+     * @throws NullPointerException if the given key or value is {@code null}
+     */
+    public ArrayContext put(Object key, Object value) {
+        int position = position(requireNonNull(key, "Key cannot be null.")); requireNonNull(value, "Value cannot be null.");
+        if (position >= 0) {
+            if (entries[(position << 1) + 1] == value)
+                return this;
+            Object[] entries = this.entries.clone(); entries[(position << 1) + 1] = value;
+            return new ArrayContext(entries, index, size);
+        }
+        Object[] entries = copyOf(this.entries, (size + 1) << 1);
+        entries[size << 1] = key; entries[(size << 1) + 1] = value;
+        if (capacity(size + 1) > index.length)
+            return new ArrayContext(entries, index(entries, size + 1), size + 1);
+        int[] index = this.index.clone(); index[slot(index, key)] = size + 1;
+        return new ArrayContext(entries, index, size + 1);
+    }
+
+    /**
+     * Return new {@link ArrayContext} without the given key.
+     *
+     * @param key the given remove key
+     * @return new {@link ArrayContext} without the given key
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    public ArrayContext remove(Object key) {
+        int position = position(requireNonNull(key, "Key cannot be null."));
+        if (position < 0)
+            return this;
+        if (size == 1)
+            return EMPTY;
+        Object[] entries = new Object[(size - 1) << 1];
+        arraycopy(this.entries, 0, entries, 0, position << 1);
+        arraycopy(this.entries, (position + 1) << 1, entries, position << 1, (size - position - 1) << 1);
+        return new ArrayContext(entries, index(entries, size - 1), size - 1);
+    }
+
+    /**
+     * Return the insertion position of the given key, or {@code -1} if absent.
+     *
+     * @param key the given key
+     * @return the insertion position of the given key, or {@code -1} if absent
+     */
+    private int position(Object key) {
+        if (size == 0)
+            return -1;
+        int mask = index.length - 1; for (int slot = hash(key) & mask, position; (position = index[slot]) != 0; slot = (slot + 1) & mask) {
+            Object candidate = entries[(position - 1) << 1];
+            if (candidate == key || candidate.equals(key))
+                return position - 1;
+        } return -1;
+    }
+
+    /**
+     * Return the {@link KeyValue} entry at the given insertion position.
+     *
+     * @param position the given insertion position
+     * @return the {@link KeyValue} entry at the given insertion position
+     */
+    private KeyValue<?, ?> entry(int position) {
+        Object key = entries[position << 1], value = entries[(position << 1) + 1];
+        return new AbstractKeyValue<Object, Object>() {
+            @Override public Object getKey() { return key; }
+            @Override public Object getValue() { return value; }
+        };
+    }
+
+    /**
+     * Array Context keys Container.
+     */
+    protected class KeysContainer extends AbstractKeysContainer implements RandomMatch {
+
+        @Override public Spliterator<Object> spliterator() {
+            return range(0, size).mapToObj(position -> entries[position << 1]).spliterator(); }
+    }
+
+    /**
+     * Array Context values Container.
+     */
+    protected class ValuesContainer extends AbstractValuesContainer {
+
+        @Override public Spliterator<Object> spliterator() {
+            return range(0, size).mapToObj(position -> entries[(position << 1) + 1]).spliterator(); }
+    }
+
+
+    /**
+     * Return the hash index table capacity sufficient for the given size, keeping the load factor at most one half.
+     *
+     * @param size the given size
+     * @return the hash index table capacity sufficient for the given size
+     */
+    private static int capacity(int size) {
+        return size == 0 ? 1 : highestOneBit(size) << 2;
+    }
+
+    /**
+     * Return the spread hash code of the given key.
+     *
+     * @param key the given key
+     * @return the spread hash code of the given key
+     */
+    private static int hash(Object key) {
+        int hash = key.hashCode(); return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Return the free slot of the given hash index table for the given absent key.
+     *
+     * @param index the given hash index table
+     * @param key the given absent key
+     * @return the free slot of the given hash index table for the given absent key
+     */
+    private static int slot(int[] index, Object key) {
+        int mask = index.length - 1, slot = hash(key) & mask;
+        while (index[slot] != 0)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Build the hash index table for the given distinct keys entries array of the given size.
+     *
+     * @param entries the given interleaved keys and values array
+     * @param size the given size
+     * @return the hash index table for the given entries array
+     */
+    private static int[] index(Object[] entries, int size) {
+        int[] index = new int[capacity(size)];
+        for (int position = 0; position < size; position++)
+            index[slot(index, entries[position << 1])] = position + 1;
+        return index;
+    }
+
+
+    /**
+     * Return the empty {@link ArrayContext}.
+     *
+     * @return the empty {@link ArrayContext}
+     */
+    public static ArrayContext context() {
+        return EMPTY;
+    }
+
+    /**
+     * Return new {@link ArrayContext} by the given {@link KeyValue} vararg context, built in a single pass,
+     * the later of the entries with equal keys taking precedence.
+     *
+     * @param context the given {@link KeyValue} vararg context
+     * @return new {@link ArrayContext} by the given {@link KeyValue} vararg context
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static ArrayContext context(KeyValue<?, ?>... context) {
+        Object[] entries = new Object[context.length << 1]; int[] index = new int[capacity(context.length)]; int size = 0;
+        for (KeyValue<?, ?> kv : context) {
+            Object key = requireNonNull(kv.getKey(), "Key cannot be null."), value = requireNonNull(kv.getValue(), "Value cannot be null.");
+            int mask = index.length - 1, slot = hash(key) & mask, position;
+            for (; (position = index[slot]) != 0; slot = (slot + 1) & mask) {
+                Object candidate = entries[(position - 1) << 1];
+                if (candidate == key || candidate.equals(key)) break; }
+            if (position != 0) entries[((position - 1) << 1) + 1] = value;
+            else { entries[size << 1] = key; entries[(size << 1) + 1] = value; index[slot] = ++size; }
+        }
+        return size == 0 ? EMPTY : new ArrayContext(size == context.length ? entries : copyOf(entries, size << 1), index, size);
+    }
+
+    /**
+     * Return the given {@link Association} context as an {@link ArrayContext}, copying it if necessary.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link Association} context as an {@link ArrayContext}
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static ArrayContext context(Association<?, ?, ?> context) {
+        return copy(context);
+    }
+
+    /**
+     * Return new {@link ArrayContext} by the given parent context and adding key and value.
+     *
+     * @param context the given parent context
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link ArrayContext} by the given parent context and adding key and value
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static ArrayContext context(Association<?, ?, ?> context, Object key, Object value) {
+        return copy(context).put(key, value);
+    }
+
+    /**
+     * Return new {@link ArrayContext} by the given parent context and removal key.
+     *
+     * @param context the given parent context
+     * @param removeKey the given remove key
+     * @return new {@link ArrayContext} by the given parent context and removal key
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static ArrayContext context(Association<?, ?, ?> context, Object removeKey) {
+        return copy(context).remove(removeKey);
+    }
+
+    /**
+     * Return the given {@link Association} context as an {@link ArrayContext}, copying it if necessary.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link Association} context as an {@link ArrayContext}
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    private static ArrayContext copy(Association<?, ?, ?> context) {
+        if (context instanceof ArrayContext)
+            return (ArrayContext) context;
+        Object[] entries = new Object[context.size() << 1]; int size = 0;
+        for (KeyValue<?, ?> kv : context) {
+            entries[size << 1] = requireNonNull(kv.getKey(), "Key cannot be null.");
+            entries[(size++ << 1) + 1] = requireNonNull(kv.getValue(), "Value cannot be null.");
+        }
+        return size == 0 ? EMPTY : new ArrayContext(entries, index(entries, size), size);
+    }
+}
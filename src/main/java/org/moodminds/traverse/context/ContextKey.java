@@ -0,0 +1,94 @@
+package org.moodminds.traverse.context;
+
+import org.moodminds.elemental.Association;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+import static org.moodminds.sneaky.Cast.cast;
+
+/**
+ * A typed {@link Association} context key, identified by its instance and
+ * assigned a dense integer slot on creation for the {@link SlotContext} lookups.
+ * <p>
+ * The keys must be long-lived constants, created once: the slots are never reclaimed,
+ * and the key creation fails once the slot numbers are exhausted.
+ *
+ * @param <T> the type of the context value
+ */
+public final class ContextKey<T> {
+
+    /**
+     * The next key slot number holder field.
+     */
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+
+    /**
+     * The key slot number holder field.
+     */
+    final int slot;
+
+    /**
+     * The key name holder field.
+     */
+    private final String name;
+
+    /**
+     * Construct the object with the given key name.
+     *
+     * @param name the given key name
+     * @throws NullPointerException if the given key name is {@code null}
+     * @throws IllegalStateException if the key slot numbers are exhausted
+     */
+    private ContextKey(String name) {
+        this.name = requireNonNull(name); this.slot = SLOTS.getAndUpdate(slot -> slot < 0 ? slot : slot + 1);
+        if (slot < 0) throw new IllegalStateException("Context key slots are exhausted.");
+    }
+
+    /**
+     * Return the value associated with this key in the given {@link Association} context,
+     * resolving it by the slot index in case of a {@link SlotContext}.
+     *
+     * @param context the given {@link Association} context
+     * @return the value associated with this key in the given {@link Association} context
+     * @throws NullPointerException if the given {@link Association} context is {@code null}
+     * @throws NoSuchElementException if there is no value associated with this key
+     */
+    public T get(Association<?, ?, ?> context) {
+        return context instanceof SlotContext ? ((SlotContext) context).get(this) : cast(context.get(this));
+    }
+
+    /**
+     * Return the key name.
+     *
+     * @return the key name
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+
+    /**
+     * Return new {@link ContextKey} of the given name.
+     *
+     * @param name the given key name
+     * @param <T> the type of the context value
+     * @return new {@link ContextKey} of the given name
+     * @throws NullPointerException if the given key name is {@code null}
+     * @throws IllegalStateException if the key slot numbers are exhausted
+     */
+    public static <T> ContextKey<T> key(String name) {
+        return new ContextKey<>(name);
+    }
+}
@@ -0,0 +1,383 @@
+package org.moodminds.traverse.context;
+
+import org.moodminds.elemental.AbstractAssociation;
+import org.moodminds.elemental.AbstractKeyValue;
+import org.moodminds.elemental.Association;
+import org.moodminds.elemental.Container;
+import org.moodminds.elemental.KeyValue;
+import org.moodminds.elemental.OptionalIterator;
+import org.moodminds.elemental.RandomMatch;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import static java.lang.System.arraycopy;
+import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+import static java.util.stream.IntStream.range;
+import static java.util.stream.Stream.concat;
+import static org.moodminds.sneaky.Cast.cast;
+
+/**
+ * Implementation of the {@link Association} context, holding the {@link ContextKey} typed variables
+ * in the arrays of the live variables ordered by the key slots, on top of the basis context of the other variables.
+ *
+ * <p>This implementation resolves the typed variables by a binary search of the key slots, with no hashing
+ * or equality checks, and produces modified copies on addition or removal, sized by the live variables.
+ *
+ * <p>The {@link ContextKey} keys are identified by their instances, so the typed variables are local to the JVM:
+ * the serialized form of this context is its basis context only.
+ */
+public class SlotContext extends AbstractAssociation<Object, Object, KeyValue<?, ?>> implements RandomMatch, Serializable {
+
+    private static final long serialVersionUID = -4615923058147740912L;
+
+    /**
+     * The empty {@link ContextKey} keys array.
+     */
+    private static final ContextKey<?>[] NONE = new ContextKey<?>[0];
+
+    /**
+     * The {@link ContextKey} keys array, ordered by the key slots, holder field.
+     */
+    private final ContextKey<?>[] keys;
+
+    /**
+     * The values array, aligned with the keys, holder field.
+     */
+    private final Object[] values;
+
+    /**
+     * The basis {@link Association} context holder field.
+     */
+    private final Association<?, ?, ?> basis;
+
+    /**
+     * Construct the object with the given keys and values arrays and basis context.
+     *
+     * @param keys the given {@link ContextKey} keys array, ordered by the key slots
+     * @param values the given values array
+     * @param basis the given basis context
+     */
+    private SlotContext(ContextKey<?>[] keys, Object[] values, Association<?, ?, ?> basis) {
+        this.keys = keys; this.values = values; this.basis = basis;
+    }
+
+    /**
+     * Return the value associated with the given {@link ContextKey}.
+     *
+     * @param key the given {@link ContextKey}
+     * @param <T> the type of the context value
+     * @return the value associated with the given {@link ContextKey}
+     * @throws NullPointerException if the given key is {@code null}
+     * @throws NoSuchElementException if there is no value associated with the given key
+     */
+    public <T> T get(ContextKey<T> key) {
+        int index = index(keys, key.slot);
+        return index >= 0 ? cast(values[index]) : basis.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return the non-null value to which the specified key is associated
+     * @throws ClassCastException     {@inheritDoc}
+     * @throws NullPointerException   if the specified key is {@code null}
+     * @throws NoSuchElementException {@inheritDoc}
+     * @param <R> {@inheritDoc}
+     */
+    @Override
+    public <R> R get(Object key) {
+        return requireNonNull(key) instanceof ContextKey ? cast(get((ContextKey<?>) key)) : basis.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return keys.length + basis.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws ClassCastException   {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return requireNonNull(key) instanceof ContextKey && index(keys, ((ContextKey<?>) key).slot) >= 0 || basis.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> keys() {
+        return new KeysContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> values() {
+        return new ValuesContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<KeyValue<?, ?>> iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Spliterator<KeyValue<?, ?>> spliterator() {
+        return stream().spliterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> stream() {
+        return concat(basis.stream().<KeyValue<?, ?>>map(identity()), range(0, keys.length)
+                .mapToObj(index -> new AbstractKeyValue<Object, Object>() {
+                    @Override public Object getKey() { return keys[index]; }
+                    @Override public Object getValue() { return values[index]; }
+                }));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> parallelStream() {
+        return stream().parallel();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @param value {@inheritDoc}
+     * @param present {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Iterator<KeyValue<?, ?>> iterator(Object key, Object value, boolean present) {
+        return OptionalIterator.iterator(() -> new AbstractKeyValue<>() {
+            @Override public Object getKey() { return key; }
+            @Override public Object getValue() { return value; }
+        }, present);
+    }
+
+    /**
+     * Return the basis {@link Association} context of the non-typed variables.
+     *
+     * @return the basis {@link Association} context of the non-typed variables
+     */
+    public Association<?, ?, ?> basis() {
+        return basis;
+    }
+
+    /**
+     * Return new {@link SlotContext} with the same typed variables and the given basis {@link Association} context.
+     *
+     * @param basis the given basis {@link Association} context
+     * @return new {@link SlotContext} with the same typed variables and the given basis {@link Association} context
+     * @throws NullPointerException if the given basis {@link Association} context is {@code null}
+     */
+    public SlotContext basis(Association<?, ?, ?> basis) {
+        return requireNonNull(basis) == this.basis ? this : new SlotContext(keys, values, expectRandom(basis));
+    }
+
+    /**
+     * Return new {@link SlotContext} with the given {@link ContextKey} associated with the given value.
+     *
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link SlotContext} with the given {@link ContextKey} associated with the given value
+     * @throws NullPointerException if the given key or value is {@code null}
+     */
+    public SlotContext put(ContextKey<?> key, Object value) {
+        int index = index(keys, requireNonNull(key, "Key cannot be null.").slot); requireNonNull(value, "Value cannot be null.");
+        if (index >= 0) {
+            Object[] values = this.values.clone(); values[index] = value;
+            return new SlotContext(keys, values, strip(basis, key));
+        }
+        index = -index - 1; int length = keys.length;
+        ContextKey<?>[] keys = new ContextKey<?>[length + 1]; Object[] values = new Object[length + 1];
+        arraycopy(this.keys, 0, keys, 0, index); arraycopy(this.keys, index, keys, index + 1, length - index);
+        arraycopy(this.values, 0, values, 0, index); arraycopy(this.values, index, values, index + 1, length - index);
+        keys[index] = key; values[index] = value;
+        return new SlotContext(keys, values, strip(basis, key));
+    }
+
+    /**
+     * Return new {@link SlotContext} without the given {@link ContextKey}.
+     *
+     * @param key the given remove key
+     * @return new {@link SlotContext} without the given {@link ContextKey}
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    public SlotContext remove(ContextKey<?> key) {
+        int index = index(keys, requireNonNull(key, "Key cannot be null.").slot);
+        if (index < 0)
+            return basis.containsKey(key) ? new SlotContext(keys, values, strip(basis, key)) : this;
+        int length = keys.length - 1; ContextKey<?>[] keys = new ContextKey<?>[length]; Object[] values = new Object[length];
+        arraycopy(this.keys, 0, keys, 0, index); arraycopy(this.keys, index + 1, keys, index, length - index);
+        arraycopy(this.values, 0, values, 0, index); arraycopy(this.values, index + 1, values, index, length - index);
+        return new SlotContext(keys, values, strip(basis, key));
+    }
+
+    /**
+     * Replace this context by its basis context on serialization, dropping the JVM-local typed variables.
+     *
+     * @return the basis context
+     */
+    private Object writeReplace() {
+        return basis;
+    }
+
+    /**
+     * Return the index of the key of the given slot in the given keys array ordered by the key slots,
+     * or {@code -(insertion index) - 1} if absent.
+     *
+     * @param keys the given keys array ordered by the key slots
+     * @param slot the given slot
+     * @return the index of the key of the given slot, or {@code -(insertion index) - 1} if absent
+     */
+    private static int index(ContextKey<?>[] keys, int slot) {
+        int low = 0, high = keys.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1, current = keys[middle].slot;
+            if (current < slot) low = middle + 1;
+            else if (current > slot) high = middle - 1;
+            else return middle;
+        } return -low - 1;
+    }
+
+    /**
+     * Slot Context keys Container.
+     */
+    protected class KeysContainer extends AbstractKeysContainer implements RandomMatch {
+
+        @Override public Spliterator<Object> spliterator() {
+            return SlotContext.this.stream().<Object>map(KeyValue::getKey).spliterator(); }
+    }
+
+    /**
+     * Slot Context values Container.
+     */
+    protected class ValuesContainer extends AbstractValuesContainer {
+
+        @Override public Spliterator<Object> spliterator() {
+            return SlotContext.this.stream().<Object>map(KeyValue::getValue).spliterator(); }
+    }
+
+
+    /**
+     * Return the given {@link Association} context if it is an instance of {@link RandomMatch},
+     * otherwise its {@link ArrayContext} copy.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link RandomMatch} {@link Association} context, or its {@link ArrayContext} copy
+     */
+    private static Association<?, ?, ?> expectRandom(Association<?, ?, ?> context) {
+        return context instanceof RandomMatch ? context : ArrayContext.context(context);
+    }
+
+    /**
+     * Return the given basis {@link Association} context without the given {@link ContextKey} variable.
+     *
+     * @param basis the given basis {@link Association} context
+     * @param key the given {@link ContextKey}
+     * @return the given basis {@link Association} context without the given {@link ContextKey} variable
+     */
+    private static Association<?, ?, ?> strip(Association<?, ?, ?> basis, ContextKey<?> key) {
+        return !basis.containsKey(key) ? basis
+                : basis instanceof TrieContext ? TrieContext.context(basis, key) : ArrayContext.context(basis, key);
+    }
+
+
+    /**
+     * Return new {@link SlotContext} by the given parent context and adding {@link ContextKey} and value.
+     *
+     * @param context the given parent context
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link SlotContext} by the given parent context and adding {@link ContextKey} and value
+     * @throws NullPointerException if the given key or value is {@code null}
+     */
+    public static SlotContext context(Association<?, ?, ?> context, ContextKey<?> key, Object value) {
+        requireNonNull(key); return copy(context).put(key, value);
+    }
+
+    /**
+     * Return new {@link SlotContext} by the given parent context and removal {@link ContextKey}.
+     *
+     * @param context the given parent context
+     * @param removeKey the given remove key
+     * @return new {@link SlotContext} by the given parent context and removal {@link ContextKey}
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    public static SlotContext context(Association<?, ?, ?> context, ContextKey<?> removeKey) {
+        requireNonNull(removeKey); return copy(context).remove(removeKey);
+    }
+
+    /**
+     * Return the given {@link Association} context as a {@link SlotContext}, moving
+     * all its {@link ContextKey} variables out of the basis context into the slots.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link Association} context as a {@link SlotContext}
+     * @throws NullPointerException if the given {@link Association} context is {@code null}
+     */
+    public static SlotContext context(Association<?, ?, ?> context) {
+        return copy(requireNonNull(context));
+    }
+
+    /**
+     * Return the given {@link Association} context as a {@link SlotContext}, moving
+     * all its {@link ContextKey} variables out of the basis context into the slots.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link Association} context as a {@link SlotContext}
+     */
+    private static SlotContext copy(Association<?, ?, ?> context) {
+        if (context instanceof SlotContext)
+            return (SlotContext) context;
+        SlotContext slotContext = new SlotContext(NONE, new Object[0], expectRandom(context));
+        for (KeyValue<?, ?> kv : context)
+            if (kv.getKey() instanceof ContextKey)
+                slotContext = slotContext.put((ContextKey<?>) kv.getKey(), kv.getValue());
+        return slotContext;
+    }
+}
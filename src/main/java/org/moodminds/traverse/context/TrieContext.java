@@ -0,0 +1,454 @@
+package org.moodminds.traverse.context;
+
+import org.moodminds.elemental.AbstractAssociation;
+import org.moodminds.elemental.AbstractKeyValue;
+import org.moodminds.elemental.Association;
+import org.moodminds.elemental.Container;
+import org.moodminds.elemental.KeyValue;
+import org.moodminds.elemental.OptionalIterator;
+import org.moodminds.elemental.RandomMatch;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.Integer.bitCount;
+import static java.lang.Integer.compareUnsigned;
+import static java.lang.System.arraycopy;
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.DISTINCT;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.NONNULL;
+import static java.util.stream.IntStream.range;
+import static org.moodminds.sneaky.Cast.cast;
+
+/**
+ * Implementation of the {@link Association} context, representing a persistent hash array mapped trie of variables.
+ *
+ * <p>This implementation shares the untouched trie nodes between the versions, so addition or removal costs
+ * O(log32 n) copied nodes, which suits large contexts. The iteration order is unspecified.
+ */
+public class TrieContext extends AbstractAssociation<Object, Object, KeyValue<?, ?>> implements RandomMatch, Serializable {
+
+    private static final long serialVersionUID = -2748061939385153604L;
+
+    /**
+     * The empty {@link TrieContext} singleton holder field.
+     */
+    private static final TrieContext EMPTY = new TrieContext(BitmapNode.EMPTY, 0);
+
+    /**
+     * The trie root {@link Node} holder field.
+     */
+    private final Node root;
+
+    /**
+     * The context size holder field.
+     */
+    private final int size;
+
+    /**
+     * Construct the object with the given trie root {@link Node} and size.
+     *
+     * @param root the given trie root {@link Node}
+     * @param size the given context size
+     */
+    private TrieContext(Node root, int size) {
+        this.root = root; this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return the non-null value to which the specified key is associated
+     * @throws ClassCastException     {@inheritDoc}
+     * @throws NullPointerException   if the specified key is {@code null}
+     * @throws NoSuchElementException {@inheritDoc}
+     * @param <R> {@inheritDoc}
+     */
+    @Override
+    public <R> R get(Object key) {
+        Object value = root.get(requireNonNull(key), hash(key), 0);
+        if (value != null)
+            return cast(value);
+        throw new NoSuchElementException("No value in context for key: " + key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws ClassCastException   {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return root.get(requireNonNull(key), hash(key), 0) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> keys() {
+        return new KeysContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Container<Object> values() {
+        return new ValuesContainer();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<KeyValue<?, ?>> iterator() {
+        return root.stream().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Spliterator<KeyValue<?, ?>> spliterator() {
+        return Spliterators.spliterator(iterator(), size, DISTINCT | IMMUTABLE | NONNULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<KeyValue<?, ?>> parallelStream() {
+        return stream().parallel();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key {@inheritDoc}
+     * @param value {@inheritDoc}
+     * @param present {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Iterator<KeyValue<?, ?>> iterator(Object key, Object value, boolean present) {
+        return OptionalIterator.iterator(() -> entry(key, value), present);
+    }
+
+    /**
+     * Return new {@link TrieContext} with the given key associated with the given value.
+     *
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link TrieContext} with the given key associated with the given value
+     * @throws NullPointerException if the given key or value is {@code null}
+     */
+    public TrieContext put(Object key, Object value) {
+        requireNonNull(key, "Key cannot be null."); requireNonNull(value, "Value cannot be null.");
+        int hash = hash(key); boolean present = root.get(key, hash, 0) != null;
+        Node root = this.root.put(key, value, hash, 0);
+        return root == this.root ? this : new TrieContext(root, present ? size : size + 1);
+    }
+
+    /**
+     * Return new {@link TrieContext} without the given key.
+     *
+     * @param key the given remove key
+     * @return new {@link TrieContext} without the given key
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    public TrieContext remove(Object key) {
+        Node root = this.root.remove(requireNonNull(key, "Key cannot be null."), hash(key), 0);
+        return root == this.root ? this : root == null ? EMPTY : new TrieContext(root, size - 1);
+    }
+
+    /**
+     * Trie Context keys Container.
+     */
+    protected class KeysContainer extends AbstractKeysContainer implements RandomMatch {
+
+        @Override public Spliterator<Object> spliterator() {
+            return TrieContext.this.stream().<Object>map(KeyValue::getKey).spliterator(); }
+    }
+
+    /**
+     * Trie Context values Container.
+     */
+    protected class ValuesContainer extends AbstractValuesContainer {
+
+        @Override public Spliterator<Object> spliterator() {
+            return TrieContext.this.stream().<Object>map(KeyValue::getValue).spliterator(); }
+    }
+
+
+    /**
+     * A trie node, holding either the key-value pairs and sub-nodes, or the colliding key-value pairs.
+     */
+    private static abstract class Node implements Serializable {
+
+        private static final long serialVersionUID = 5216480930716302387L;
+
+        protected final Object[] array;
+
+        protected Node(Object[] array) {
+            this.array = array; }
+
+        boolean single() {
+            return array.length == 2 && array[0] != null; }
+
+        abstract Object get(Object key, int hash, int shift);
+
+        abstract Node put(Object key, Object value, int hash, int shift);
+
+        abstract Node remove(Object key, int hash, int shift);
+
+        abstract Stream<KeyValue<?, ?>> stream();
+    }
+
+    /**
+     * A trie node, holding the key-value pairs (non-null key) and the sub-nodes (null key) indexed by the hash bitmap.
+     */
+    private static class BitmapNode extends Node {
+
+        private static final long serialVersionUID = -6322183045914416210L;
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            super(array); this.bitmap = bitmap; }
+
+        @Override Object get(Object key, int hash, int shift) {
+            int bit = bit(hash, shift); if ((bitmap & bit) == 0) return null;
+            int i = index(bit); Object k = array[i], v = array[i + 1];
+            return k == null ? ((Node) v).get(key, hash, shift + 5) : k.equals(key) ? v : null; }
+
+        @Override Node put(Object key, Object value, int hash, int shift) {
+            int bit = bit(hash, shift), i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] array = new Object[this.array.length + 2];
+                arraycopy(this.array, 0, array, 0, i); array[i] = key; array[i + 1] = value;
+                arraycopy(this.array, i, array, i + 2, this.array.length - i);
+                return new BitmapNode(bitmap | bit, array);
+            } Object k = array[i], v = array[i + 1];
+            if (k == null) {
+                Node node = ((Node) v).put(key, value, hash, shift + 5);
+                return node == v ? this : replace(i, null, node);
+            } if (k.equals(key))
+                return v == value ? this : replace(i, k, value);
+            return replace(i, null, node(k, v, hash(k), key, value, hash, shift + 5)); }
+
+        @Override Node remove(Object key, int hash, int shift) {
+            int bit = bit(hash, shift); if ((bitmap & bit) == 0) return this;
+            int i = index(bit); Object k = array[i], v = array[i + 1];
+            if (k == null) {
+                Node node = ((Node) v).remove(key, hash, shift + 5);
+                return node == v ? this : node == null ? remove(bit, i)
+                        : node.single() ? replace(i, node.array[0], node.array[1]) : replace(i, null, node);
+            } return k.equals(key) ? remove(bit, i) : this; }
+
+        @Override Stream<KeyValue<?, ?>> stream() {
+            return range(0, array.length >> 1).boxed().flatMap(i -> array[i << 1] != null
+                    ? Stream.of(entry(array[i << 1], array[(i << 1) + 1])) : ((Node) array[(i << 1) + 1]).stream()); }
+
+        private int index(int bit) {
+            return bitCount(bitmap & (bit - 1)) << 1; }
+
+        private Node replace(int i, Object key, Object value) {
+            Object[] array = this.array.clone(); array[i] = key; array[i + 1] = value;
+            return new BitmapNode(bitmap, array); }
+
+        private Node remove(int bit, int i) {
+            if (bitmap == bit) return null;
+            Object[] array = new Object[this.array.length - 2];
+            arraycopy(this.array, 0, array, 0, i);
+            arraycopy(this.array, i + 2, array, i, array.length - i);
+            return new BitmapNode(bitmap ^ bit, array); }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31); }
+
+        private static Node node(Object key1, Object value1, int hash1, Object key2, Object value2, int hash2, int shift) {
+            if (hash1 == hash2)
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            int bit1 = bit(hash1, shift), bit2 = bit(hash2, shift);
+            if (bit1 == bit2)
+                return new BitmapNode(bit1, new Object[] {null, node(key1, value1, hash1, key2, value2, hash2, shift + 5)});
+            return new BitmapNode(bit1 | bit2, compareUnsigned(bit1, bit2) < 0
+                    ? new Object[] {key1, value1, key2, value2} : new Object[] {key2, value2, key1, value1});
+        }
+    }
+
+    /**
+     * A trie node, holding the key-value pairs of the same hash.
+     */
+    private static class CollisionNode extends Node {
+
+        private static final long serialVersionUID = 1840632573271938545L;
+
+        private final int hash;
+
+        private CollisionNode(int hash, Object[] array) {
+            super(array); this.hash = hash; }
+
+        @Override Object get(Object key, int hash, int shift) {
+            if (hash == this.hash) for (int i = 0; i < array.length; i += 2)
+                if (array[i].equals(key)) return array[i + 1];
+            return null; }
+
+        @Override Node put(Object key, Object value, int hash, int shift) {
+            if (hash != this.hash)
+                return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] {null, this}).put(key, value, hash, shift);
+            for (int i = 0; i < array.length; i += 2) if (array[i].equals(key)) {
+                if (array[i + 1] == value) return this;
+                Object[] array = this.array.clone(); array[i + 1] = value;
+                return new CollisionNode(hash, array);
+            } Object[] array = new Object[this.array.length + 2];
+            arraycopy(this.array, 0, array, 0, this.array.length);
+            array[this.array.length] = key; array[this.array.length + 1] = value;
+            return new CollisionNode(hash, array); }
+
+        @Override Node remove(Object key, int hash, int shift) {
+            if (hash == this.hash) for (int i = 0; i < array.length; i += 2) if (array[i].equals(key)) {
+                if (array.length == 2) return null;
+                Object[] array = new Object[this.array.length - 2];
+                arraycopy(this.array, 0, array, 0, i);
+                arraycopy(this.array, i + 2, array, i, array.length - i);
+                return new CollisionNode(hash, array);
+            } return this; }
+
+        @Override Stream<KeyValue<?, ?>> stream() {
+            return range(0, array.length >> 1).mapToObj(i -> entry(array[i << 1], array[(i << 1) + 1])); }
+    }
+
+
+    /**
+     * Return the spread hash code of the given key.
+     *
+     * @param key the given key
+     * @return the spread hash code of the given key
+     */
+    private static int hash(Object key) {
+        int hash = key.hashCode(); return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Return the {@link KeyValue} entry of the given key and value.
+     *
+     * @param key the given key
+     * @param value the given value
+     * @return the {@link KeyValue} entry of the given key and value
+     */
+    private static KeyValue<?, ?> entry(Object key, Object value) {
+        return new AbstractKeyValue<Object, Object>() {
+            @Override public Object getKey() { return key; }
+            @Override public Object getValue() { return value; }
+        };
+    }
+
+
+    /**
+     * Return the empty {@link TrieContext}.
+     *
+     * @return the empty {@link TrieContext}
+     */
+    public static TrieContext context() {
+        return EMPTY;
+    }
+
+    /**
+     * Return new {@link TrieContext} by the given {@link KeyValue} vararg context.
+     *
+     * @param context the given {@link KeyValue} vararg context
+     * @return new {@link TrieContext} by the given {@link KeyValue} vararg context
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static TrieContext context(KeyValue<?, ?>... context) {
+        TrieContext trieContext = EMPTY;
+        for (KeyValue<?, ?> kv : context)
+            trieContext = trieContext.put(kv.getKey(), kv.getValue());
+        return trieContext;
+    }
+
+    /**
+     * Return new {@link TrieContext} by the given parent context and adding key and value.
+     *
+     * @param context the given parent context
+     * @param key the given adding key
+     * @param value the given adding value
+     * @return new {@link TrieContext} by the given parent context and adding key and value
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static TrieContext context(Association<?, ?, ?> context, Object key, Object value) {
+        return copy(context).put(key, value);
+    }
+
+    /**
+     * Return new {@link TrieContext} by the given parent context and removal key.
+     *
+     * @param context the given parent context
+     * @param removeKey the given remove key
+     * @return new {@link TrieContext} by the given parent context and removal key
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    public static TrieContext context(Association<?, ?, ?> context, Object removeKey) {
+        return copy(context).remove(removeKey);
+    }
+
+    /**
+     * Return the given {@link Association} context as a {@link TrieContext}, copying it if necessary.
+     *
+     * @param context the given {@link Association} context
+     * @return the given {@link Association} context as a {@link TrieContext}
+     * @throws NullPointerException if any of the keys or values is {@code null}
+     */
+    private static TrieContext copy(Association<?, ?, ?> context) {
+        if (context instanceof TrieContext)
+            return (TrieContext) context;
+        TrieContext trieContext = EMPTY;
+        for (KeyValue<?, ?> kv : context)
+            trieContext = trieContext.put(kv.getKey(), kv.getValue());
+        return trieContext;
+    }
+}